@@ -0,0 +1,57 @@
+package ui.widget.seekbar;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion throughput of the range engine for every response curve.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RangeEngineBenchmark {
+
+    private static final int SAMPLES = 1024;
+    private static final int SAMPLE_MASK = SAMPLES - 1;
+
+    @Param({"LINEAR", "LOGARITHMIC", "EXPONENTIAL"})
+    public ResponseCurve curve;
+
+    private final double[] normalized = new double[SAMPLES];
+    private final double[] values = new double[SAMPLES];
+    private RangeEngine engine;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        engine = new RangeEngine(-0.0005d, 1e6d);
+        engine.setResponseCurve(curve);
+
+        Random random = new Random(42);
+        for (int i = 0; i < SAMPLES; i++) {
+            normalized[i] = random.nextDouble();
+            values[i] = engine.normalizedToValue(random.nextDouble());
+        }
+    }
+
+    @Benchmark
+    public double normalizedToValue() {
+        index = (index + 1) & SAMPLE_MASK;
+        return engine.normalizedToValue(normalized[index]);
+    }
+
+    @Benchmark
+    public double valueToNormalized() {
+        index = (index + 1) & SAMPLE_MASK;
+        return engine.valueToNormalized(values[index]);
+    }
+}
@@ -0,0 +1,60 @@
+package ui.widget.seekbar;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the touch hot path: touch-to-value, value-to-pixel and thumb hit-test.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ValueMapperBenchmark {
+
+    private static final int SAMPLES = 1024;
+    private static final int SAMPLE_MASK = SAMPLES - 1;
+
+    private final float[] touchX = new float[SAMPLES];
+    private final double[] normalized = new double[SAMPLES];
+    private ValueMapper mapper;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        mapper = new ValueMapper(-100d, 100d);
+        mapper.setValueRange(10f, 500f);
+        mapper.setBounds(1080f, 42f);
+
+        Random random = new Random(42);
+        for (int i = 0; i < SAMPLES; i++) {
+            touchX[i] = random.nextFloat() * 1080f;
+            normalized[i] = random.nextDouble();
+        }
+    }
+
+    @Benchmark
+    public double touchToValue() {
+        index = (index + 1) & SAMPLE_MASK;
+        return mapper.normalizedToUserValue(mapper.screenToNormalized(touchX[index]));
+    }
+
+    @Benchmark
+    public float valueToPixel() {
+        index = (index + 1) & SAMPLE_MASK;
+        return mapper.normalizedToScreen(normalized[index]);
+    }
+
+    @Benchmark
+    public boolean hitTest() {
+        index = (index + 1) & SAMPLE_MASK;
+        return mapper.isInThumbRange(touchX[index], normalized[index], 21f);
+    }
+}
@@ -0,0 +1,46 @@
+package ui.widget.seekbar;
+
+import android.content.Context;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Compares the constructor cost with a cold style cache, which resolves the theme colors and densities
+ * like every constructor did before, to the cost with the shared, already resolved style.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ConstructorBenchmark {
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+
+    @Test
+    public void constructWithColdStyleCache() {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            state.pauseTiming();
+            SeekBarStyle.clear();
+            state.resumeTiming();
+
+            new CenterThumbSeekBar(context);
+        }
+    }
+
+    @Test
+    public void constructWithWarmStyleCache() {
+        SeekBarStyle.get(context);
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            new CenterThumbSeekBar(context);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package ui.widget.seekbar;
+
+import android.view.Choreographer;
+
+import java.util.ArrayList;
+
+/**
+ * Shared frame clock for value animations, all running animations are driven by a single
+ * {@link Choreographer} callback. Must only be used on the UI thread.
+ */
+final class AnimationClock implements Choreographer.FrameCallback {
+
+    private static AnimationClock instance;
+
+    private final ArrayList<FrameListener> listeners = new ArrayList<>();
+    private boolean isFrameCallbackPosted;
+
+    private AnimationClock() {
+    }
+
+    static AnimationClock getInstance() {
+        if (instance == null) {
+            instance = new AnimationClock();
+        }
+        return instance;
+    }
+
+    void addListener(FrameListener listener) {
+        if (!listeners.contains(listener)) {
+            listeners.add(listener);
+        }
+        if (!isFrameCallbackPosted) {
+            isFrameCallbackPosted = true;
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+    }
+
+    void removeListener(FrameListener listener) {
+        listeners.remove(listener);
+    }
+
+    int getListenerCount() {
+        return listeners.size();
+    }
+
+    boolean isFrameCallbackPosted() {
+        return isFrameCallbackPosted;
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        isFrameCallbackPosted = false;
+        // iterate backwards so listeners can finish and be removed during the frame.
+        for (int i = listeners.size() - 1; i >= 0; i--) {
+            if (i >= listeners.size()) {
+                continue;
+            }
+            FrameListener listener = listeners.get(i);
+            if (!listener.onAnimationFrame(frameTimeNanos)) {
+                listeners.remove(listener);
+            }
+        }
+        if (!listeners.isEmpty() && !isFrameCallbackPosted) {
+            isFrameCallbackPosted = true;
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+    }
+
+    interface FrameListener {
+        /**
+         * Called once per frame while registered.
+         *
+         * @param frameTimeNanos The frame time of the current frame.
+         * @return true to stay registered for the next frame.
+         */
+        boolean onAnimationFrame(long frameTimeNanos);
+    }
+}
@@ -3,49 +3,195 @@ package ui.widget.seekbar;
 import android.annotation.SuppressLint;
 import android.content.Context;
 import android.content.res.TypedArray;
-import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
-import android.graphics.RectF;
 import android.graphics.drawable.ColorDrawable;
-import android.graphics.drawable.Drawable;
+import android.os.Handler;
+import android.os.Looper;
 import android.util.AttributeSet;
+import android.view.InputDevice;
+import android.view.KeyEvent;
 import android.view.MotionEvent;
 import android.view.View;
-import android.view.ViewConfiguration;
 
-import androidx.core.content.ContextCompat;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 @SuppressLint("ClickableViewAccessibility")
 public class CenterThumbSeekBar extends View {
 
-    private final int trackProgressColor;
-    private final int trackColor;
-    private final int thumbColor;
-    private final int thumbPressColor;
-    private final boolean hasRoundedCorners;
-    private final float fromValue;
-    private final float toValue;
-    private final double absoluteMinValue;
-    private final double absoluteMaxValue;
-    private final Paint paint;
+    private final SeekBarStyle style;
+    private SeekBarConfig config;
+    private double fromValue;
+    private double toValue;
+    private final ValueMapper mapper = new ValueMapper(Const.DEFAULT_MIN_VALUE, Const.DEFAULT_MAX_VALUE);
+    private final SeekBarRenderer renderer = new SeekBarRenderer();
     private float padding;
-    private Bitmap thumbImage = null;
-    private Bitmap thumbPressedImage = null;
     private float thumbRadius;
     private float thumbPressedRadius;
     private float trackHeight;
-    private int scaledTouchSlop;
     private boolean isDragging;
     private boolean isThumbPressed;
     private double normalizedThumbValue = 0d;
     private OnFromValueChangeListener fromListener;
     private OnToValueChangeListener toListener;
-    private float mDownMotionX;
-    private int mActivePointerId = Const.INVALID_POINTER_ID;
+    private OnValueBatchListener batchListener;
+    private OnValueChangeListener valueListener;
+    private double[] batchValues = new double[Const.DEFAULT_BATCH_CAPACITY];
+    private long[] batchEventTimes = new long[Const.DEFAULT_BATCH_CAPACITY];
     private ThumbDirection thumbDirection = ThumbDirection.NONE;
+    private double thumbValue;
     private float newHeight;
+    private float centerX;
+    private float thumbX;
+    private float thumbY;
+    private boolean isPartialInvalidationEnabled;
+    private float invalidatedThumbX;
+    private boolean invalidatedThumbPressed;
+    private SeekBarMetrics metrics;
+    private ValueStream valueStream;
+    private final VelocityEstimator velocityEstimator = new VelocityEstimator();
+    private boolean isLowLatencyTrackingEnabled;
+    private float predictedOffsetX;
+    private double stepSize;
+    private TickTable tickTable;
+    private float[] tickLines;
+    private int currentStep = -1;
+    private final TextWidthCache labelWidthCache = new TextWidthCache(Const.LABEL_WIDTH_CACHE_SIZE);
+    private ValueFormatter valueFormatter = new ValueFormatter(Const.DEFAULT_LABEL_DECIMALS, null, null);
+    private boolean isValueLabelEnabled;
+    private int labelLength;
+    private float labelWidth;
+    private float invalidatedLabelWidth;
+    private float labelX;
+    private float labelBaseline;
+    private float labelSpace;
+    private float labelSpacing;
+    private SeekBarModel model;
+    private int modelSlot;
+    private boolean isModelRegistered;
+    private boolean isUpdatingModel;
+    private final SeekBarModel.Observer modelObserver = new SeekBarModel.Observer() {
+        @Override
+        public void onModelValueChanged(SeekBarModel model, int slot) {
+            // the change written by our own drag, or dropped like setValue while the user drags.
+            if (isUpdatingModel || isDragging) {
+                return;
+            }
+            cancelValueAnimation();
+            setNormalizedValue(mapper.userValueToNormalized(model.getValue(slot)));
+        }
+    };
+    // posts to the main thread even while detached, postOnAnimation() would queue on the calling thread.
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final AtomicLong pendingValueBits = new AtomicLong();
+    private final AtomicBoolean isValueUpdateScheduled = new AtomicBoolean();
+    private final Runnable valueUpdateRunnable = new Runnable() {
+        @Override
+        public void run() {
+            // clear the flag first, a value set after the read below schedules the next update.
+            isValueUpdateScheduled.set(false);
+            final double value = Double.longBitsToDouble(pendingValueBits.get());
+            if (!isDragging) {
+                cancelValueAnimation();
+                setNormalizedValue(mapper.userValueToNormalized(value));
+                writeModelValue();
+            }
+        }
+    };
+    private ValueInterpolator valueInterpolator = ValueInterpolator.DECELERATE;
+    private long valueAnimationDurationNanos = Const.DEFAULT_ANIMATION_DURATION_MS * 1000000L;
+    private long valueAnimationStartNanos;
+    private double valueAnimationFrom;
+    private double valueAnimationTo;
+    private boolean isValueAnimating;
+    private final AnimationClock.FrameListener valueAnimationListener = new AnimationClock.FrameListener() {
+        @Override
+        public boolean onAnimationFrame(long frameTimeNanos) {
+            if (!isValueAnimating) {
+                return false;
+            }
+            if (valueAnimationStartNanos < 0) {
+                // the first frame defines the start time.
+                valueAnimationStartNanos = frameTimeNanos;
+            }
+            final float fraction = valueAnimationDurationNanos <= 0 ? 1f
+                    : Math.min(1f, (float) (frameTimeNanos - valueAnimationStartNanos) / valueAnimationDurationNanos);
+            final float interpolated = valueInterpolator.getInterpolation(fraction);
+            setNormalizedValue(valueAnimationFrom + (valueAnimationTo - valueAnimationFrom) * interpolated);
+            if (fraction >= 1f) {
+                isValueAnimating = false;
+                writeModelValue();
+            }
+            return isValueAnimating;
+        }
+    };
+    private final ThumbTouchHelper touchHelper = new ThumbTouchHelper(this, new ThumbTouchHelper.Callback() {
+        @Override
+        public boolean isInThumbRange(float touchX) {
+            return evalPressedThumb(touchX);
+        }
+
+        @Override
+        public void onThumbStateChanged(boolean pressed) {
+            isThumbPressed = pressed;
+            invalidateThumbState();
+        }
+
+        @Override
+        public void onStartTrackingTouch(MotionEvent event) {
+            isDragging = true;
+            if (event.getActionMasked() == MotionEvent.ACTION_DOWN) {
+                cancelValueAnimation();
+                if (isLowLatencyTrackingEnabled) {
+                    requestUnbufferedDispatch(event);
+                }
+            }
+        }
+
+        @Override
+        public void onTrackTouchEvent(MotionEvent event, int pointerIndex) {
+            trackTouchEvent(event, pointerIndex);
+        }
+
+        @Override
+        public void onStopTrackingTouch() {
+            isDragging = false;
+            clearPrediction();
+        }
+
+        @Override
+        public ThumbDirection getThumbDirection() {
+            return thumbDirection;
+        }
+
+        @Override
+        public double getThumbValue() {
+            return thumbValue;
+        }
+
+        @Override
+        public int getThumbStep() {
+            return tickTable != null ? currentStep : -1;
+        }
+
+        @Override
+        public void onDispatchValueChange(ThumbDirection direction, double value) {
+            dispatchValueChange(direction, value);
+        }
+    });
+    private double pendingKeySteps;
+    private boolean isKeyStepScheduled;
+    private long scrollStreakStartTime;
+    private long lastScrollEventTime;
+    private final Runnable keyStepRunnable = new Runnable() {
+        @Override
+        public void run() {
+            isKeyStepScheduled = false;
+            applyKeySteps();
+        }
+    };
 
     public CenterThumbSeekBar(Context context) {
         this(context, null);
@@ -58,76 +204,196 @@ public class CenterThumbSeekBar extends View {
     public CenterThumbSeekBar(Context context, AttributeSet attrs, int defStyleAttr) {
         super(context, attrs, defStyleAttr);
 
-        paint = new Paint(Paint.ANTI_ALIAS_FLAG);
-        this.trackHeight = Const.DEFAULT_TRACK_HEIGHT;
-        this.thumbRadius = Const.DEFAULT_THUMB_RADIUS;
-        this.thumbPressedRadius = Const.DEFAULT_THUMB_PRESSED_RADIUS;
-
-        Const.DEFAULT_THUMB_COLOR = ContextCompat.getColor(context, R.color.colorAccent);
-        Const.DEFAULT_TRACK_PROGRESS_COLOR = ContextCompat.getColor(context, R.color.colorAccent);
-        Const.DEFAULT_TRACK_COLOR = ContextCompat.getColor(context, R.color.default_track_color);
-
-        this.absoluteMinValue = Const.DEFAULT_MIN_VALUE;
-        this.absoluteMaxValue = Const.DEFAULT_MAX_VALUE;
-        setProgress(Const.DEFAULT_PROGRESS_VALUE);
+        style = SeekBarStyle.get(context);
 
         // Attribute initialization
         final TypedArray a = context.obtainStyledAttributes(attrs, R.styleable.CenterThumbSeekBar, defStyleAttr, 0);
 
-        this.fromValue = a.getFloat(R.styleable.CenterThumbSeekBar_fromValue, Const.DEFAULT_MIN_VALUE);
-        this.toValue = a.getFloat(R.styleable.CenterThumbSeekBar_toValue, Const.DEFAULT_MAX_VALUE);
+        SeekBarConfig.Builder builder = SeekBarConfig.fromAttributes(context, a, style);
 
         float fromProgress = a.getFloat(R.styleable.CenterThumbSeekBar_fromProgress, Const.DEFAULT_PROGRESS_VALUE);
+        float toProgress = a.getFloat(R.styleable.CenterThumbSeekBar_toProgress, Const.DEFAULT_PROGRESS_VALUE);
+
+        SeekBarConfig initialConfig = builder.build();
+        isValueLabelEnabled = a.getBoolean(R.styleable.CenterThumbSeekBar_valueLabelEnabled, false);
+        valueFormatter = new ValueFormatter(a.getInt(R.styleable.CenterThumbSeekBar_valueLabelDecimals, Const.DEFAULT_LABEL_DECIMALS),
+                a.getString(R.styleable.CenterThumbSeekBar_valueLabelPrefix), a.getString(R.styleable.CenterThumbSeekBar_valueLabelSuffix));
+        renderer.getLabelPaint().setTextSize(a.getDimension(R.styleable.CenterThumbSeekBar_valueLabelTextSize, style.getLabelTextSize()));
+        renderer.getLabelPaint().setColor(a.getColor(R.styleable.CenterThumbSeekBar_valueLabelColor, initialConfig.getThumbColor()));
+        labelSpacing = style.getLabelSpacing();
+
+        a.recycle();
+
+        applyConfig(initialConfig);
+        updateLabelMetrics();
+
+        setNormalizedValue(mapper.userValueToNormalized(Const.DEFAULT_PROGRESS_VALUE));
         if ((fromProgress != Const.DEFAULT_PROGRESS_VALUE) && (fromProgress <= fromValue)) {
-            setProgress(getFromProgress(fromProgress));
+            setNormalizedValue(mapper.userValueToNormalized(-Math.abs(fromProgress)));
         }
-
-        float toProgress = a.getFloat(R.styleable.CenterThumbSeekBar_toProgress, Const.DEFAULT_PROGRESS_VALUE);
         if ((toProgress != Const.DEFAULT_PROGRESS_VALUE) && (toProgress <= toValue)) {
-            setProgress(getToProgress(toProgress));
+            setNormalizedValue(mapper.userValueToNormalized(Math.abs(toProgress)));
+        }
+
+        setFocusable(true);
+        setFocusableInTouchMode(true);
+        setBackground(new ColorDrawable(Color.TRANSPARENT));
+        setForeground(new ColorDrawable(Color.TRANSPARENT));
+    }
+
+    /**
+     * Applies the given configuration and records it as the current one.
+     */
+    private void applyConfig(SeekBarConfig config) {
+        this.config = config;
+        this.fromValue = config.getFromValue();
+        this.toValue = config.getToValue();
+        mapper.setValueRange(fromValue, toValue);
+        mapper.setResponseCurve(config.getResponseCurve());
+
+        renderer.applyConfig(config);
+        this.trackHeight = renderer.getTrackHeight();
+        this.thumbRadius = renderer.getThumbRadius();
+        this.thumbPressedRadius = renderer.getThumbPressedRadius();
+        newHeight = SeekBarRenderer.getThumbHeight(config);
+
+        if (stepSize > 0) {
+            tickTable = new TickTable(mapper, stepSize);
         }
 
-        this.thumbColor = a.getColor(R.styleable.CenterThumbSeekBar_thumbColor, Const.DEFAULT_THUMB_COLOR);
-        this.thumbPressColor = a.getColor(R.styleable.CenterThumbSeekBar_thumbPressedColor, Const.DEFAULT_THUMB_COLOR);
+        padding = newHeight;
+    }
+
+    /**
+     * Returns the configuration currently applied to this view, it can be shared with other instances.
+     *
+     * @return The current configuration.
+     */
+    public SeekBarConfig getConfig() {
+        return config;
+    }
 
-        this.trackProgressColor = a.getColor(R.styleable.CenterThumbSeekBar_trackProgressColor, Const.DEFAULT_TRACK_PROGRESS_COLOR);
-        this.trackColor = a.getColor(R.styleable.CenterThumbSeekBar_trackColor, Const.DEFAULT_TRACK_COLOR);
+    /**
+     * Reconfigures this view for reuse, e.g. from a RecyclerView adapter. Binding the same config instance
+     * again only updates the value, a config with an unchanged thumb size does not request a layout.
+     * Any touch interaction in progress and values or key steps not applied yet are dropped without
+     * notifying the listeners. In step mode the value snaps to the nearest step.
+     *
+     * @param config The configuration to apply.
+     * @param value  The signed value to show, negative on the "from" side of the center.
+     */
+    public void bind(SeekBarConfig config, double value) {
+        touchHelper.reset();
+        cancelValueAnimation();
+        cancelValueUpdate();
+        cancelKeySteps();
+        isDragging = false;
+        isThumbPressed = false;
+        predictedOffsetX = 0f;
+        velocityEstimator.clear();
+        setPressed(false);
+
+        if (config != this.config) {
+            float oldHeight = newHeight;
+            applyConfig(config);
+            mapper.setBounds(getWidth(), padding);
+            updateGeometry();
+            if (newHeight != oldHeight) {
+                requestLayout();
+            }
+        }
 
-        this.hasRoundedCorners = a.getBoolean(R.styleable.CenterThumbSeekBar_trackRoundedCorners, false);
-        this.trackHeight = a.getDimension(R.styleable.CenterThumbSeekBar_trackHeight, trackHeight);
-        this.thumbRadius = a.getDimension(R.styleable.CenterThumbSeekBar_thumbRadius, thumbRadius);
-        this.thumbPressedRadius = a.getDimension(R.styleable.CenterThumbSeekBar_thumbPressedRadius, thumbPressedRadius);
+        normalizedThumbValue = mapper.userValueToNormalized(value);
+        if (tickTable != null) {
+            // key steps continue from the bound step, not from the one of the previous value.
+            currentStep = tickTable.snap(normalizedThumbValue);
+            normalizedThumbValue = tickTable.get(currentStep);
+        }
+        updateValueState();
+        updateThumbGeometry();
+        invalidate();
+    }
 
-        newHeight = Math.max(thumbRadius * 2, thumbPressedRadius * 2);
+    /**
+     * Sets the value shown by the thumb, safe to call from any thread and at any rate, also while the view
+     * is not attached. Only the latest value is kept, it is applied on the main thread and at most one
+     * update is pending at a time. Values set while the user drags the thumb are dropped, listeners are not
+     * notified, a bound model receives the value.
+     *
+     * @param value The signed value, negative on the "from" side of the center.
+     */
+    public void setValue(double value) {
+        pendingValueBits.set(Double.doubleToRawLongBits(value));
+        if (isValueUpdateScheduled.compareAndSet(false, true)) {
+            mainHandler.post(valueUpdateRunnable);
+        }
+    }
 
-        Drawable thumbImageDrawable = a.getDrawable(R.styleable.CenterThumbSeekBar_thumbDrawable);
-        Drawable thumbImagePressedDrawable = a.getDrawable(R.styleable.CenterThumbSeekBar_thumbPressedDrawable);
+    /**
+     * Drops a value set by {@link #setValue(double)} that has not been applied yet.
+     */
+    private void cancelValueUpdate() {
+        mainHandler.removeCallbacks(valueUpdateRunnable);
+        // cleared after removing, a value set in between is dropped instead of blocking later updates.
+        isValueUpdateScheduled.set(false);
+    }
 
-        if (thumbImageDrawable != null && thumbImagePressedDrawable != null) {
-            this.thumbImage = Utils.getBitmapFromDrawable(thumbImageDrawable);
-            this.thumbPressedImage = Utils.getBitmapFromDrawable(thumbImagePressedDrawable);
-            //thumb drawable
-            thumbRadius = Math.max(thumbImage.getWidth(), thumbImage.getHeight());
-            thumbPressedRadius = Math.max(thumbPressedImage.getWidth(), thumbPressedImage.getHeight());
-            newHeight = Math.max(thumbRadius, thumbPressedRadius);
+    /**
+     * Sets the value shown by the thumb, optionally animating the thumb from its current position.
+     * Animations are driven by a frame clock shared by all instances, allocate nothing per frame and are
+     * cancelled when the user touches the thumb. Animated changes must be started on the UI thread,
+     * listeners are not notified and a bound model receives the final value.
+     *
+     * @param value   The signed value, negative on the "from" side of the center.
+     * @param animate true to animate the change, false behaves like {@link #setValue(double)}.
+     */
+    public void setValue(double value, boolean animate) {
+        if (!animate) {
+            setValue(value);
+            return;
         }
+        if (isDragging) {
+            return;
+        }
+        valueAnimationFrom = normalizedThumbValue;
+        valueAnimationTo = mapper.userValueToNormalized(value);
+        valueAnimationStartNanos = -1;
+        isValueAnimating = true;
+        AnimationClock.getInstance().addListener(valueAnimationListener);
+    }
 
-        a.recycle();
+    /**
+     * Sets the duration of animated value changes.
+     *
+     * @param durationMillis The duration in milliseconds.
+     */
+    public void setValueAnimationDuration(long durationMillis) {
+        this.valueAnimationDurationNanos = Math.max(0, durationMillis) * 1000000L;
+    }
 
-        padding = newHeight;
-        setFocusable(true);
-        setFocusableInTouchMode(true);
-        setBackground(new ColorDrawable(Color.TRANSPARENT));
-        setForeground(new ColorDrawable(Color.TRANSPARENT));
-        scaledTouchSlop = ViewConfiguration.get(getContext()).getScaledTouchSlop();
+    /**
+     * Sets the easing curve of animated value changes, {@link ValueInterpolator#DECELERATE} by default.
+     *
+     * @param interpolator The interpolator to use.
+     */
+    public void setValueInterpolator(ValueInterpolator interpolator) {
+        this.valueInterpolator = interpolator;
     }
 
-    private float getFromProgress(float fromProgress) {
-        return (fromProgress * Const.DEFAULT_MIN_VALUE) / fromValue;
+    private void cancelValueAnimation() {
+        if (isValueAnimating) {
+            isValueAnimating = false;
+            AnimationClock.getInstance().removeListener(valueAnimationListener);
+        }
     }
 
-    private float getToProgress(float toProgress) {
-        return (toProgress * Const.DEFAULT_MAX_VALUE) / toValue;
+    /**
+     * Returns the value currently shown by the thumb, must be called on the UI thread.
+     *
+     * @return The signed value, negative on the "from" side of the center.
+     */
+    public double getValue() {
+        return mapper.normalizedToUserValue(normalizedThumbValue);
     }
 
     public void setOnFromValueChangeListener(OnFromValueChangeListener listener) {
@@ -138,182 +404,542 @@ public class CenterThumbSeekBar extends View {
         this.toListener = listener;
     }
 
+    /**
+     * Sets a listener receiving each value change as one event carrying the thumb side and the value,
+     * delivered before the from resp. to listener.
+     *
+     * @param listener The listener, or null to remove it.
+     */
+    public void setOnValueChangeListener(OnValueChangeListener listener) {
+        this.valueListener = listener;
+    }
+
+    /**
+     * Returns the side of the center the thumb is on, kept up to date whether or not the view is drawn.
+     *
+     * @return The thumb direction, {@link ThumbDirection#LEFT} at the center.
+     */
+    public ThumbDirection getThumbDirection() {
+        return thumbDirection;
+    }
+
+    /**
+     * Sets a listener receiving every touch sample of a move, including the batched historical samples.
+     *
+     * @param listener The listener, or null to stop batch delivery.
+     */
+    public void setOnValueBatchListener(OnValueBatchListener listener) {
+        this.batchListener = listener;
+    }
+
+    /**
+     * Sets how value changes are delivered while dragging, {@link ValueDispatchMode#IMMEDIATE} by default.
+     *
+     * @param mode The dispatch mode.
+     */
+    public void setValueDispatchMode(ValueDispatchMode mode) {
+        touchHelper.setValueDispatchMode(mode);
+    }
+
+    public ValueDispatchMode getValueDispatchMode() {
+        return touchHelper.getValueDispatchMode();
+    }
+
+    /**
+     * Sets the minimum change of the reported value needed for a callback in
+     * {@link ValueDispatchMode#COALESCED} mode. Unchanged values are always suppressed.
+     *
+     * @param minValueDelta The minimum absolute delta, 0 to only suppress unchanged values.
+     */
+    public void setMinValueDelta(double minValueDelta) {
+        touchHelper.setMinValueDelta(minValueDelta);
+    }
+
+    /**
+     * Enables invalidating only the region between the previous and the new thumb position instead of
+     * the whole view, state changes that do not move or restyle the thumb then cause no redraw at all.
+     *
+     * @param enabled true to invalidate dirty regions only.
+     */
+    public void setPartialInvalidationEnabled(boolean enabled) {
+        this.isPartialInvalidationEnabled = enabled;
+        if (enabled) {
+            // the next dirty region starts from the thumb as it is now.
+            syncInvalidatedThumbState();
+        }
+    }
+
+    /**
+     * Enables drawing the track and the progress segment with a single draw call. The progress is painted
+     * by a hard-stop gradient shader which is only repositioned through its local matrix as the thumb moves.
+     *
+     * @param enabled true to draw track and progress in one pass.
+     */
+    public void setGradientTrackEnabled(boolean enabled) {
+        renderer.setGradientTrackEnabled(enabled);
+        invalidate();
+    }
+
+    /**
+     * Enables step mode: touch input snaps to multiples of the step size, counted from the center in both
+     * directions, listeners are only notified when the snapped step changes and tick marks are drawn.
+     *
+     * @param stepSize The step size in value units, 0 to disable step mode.
+     */
+    public void setStepSize(double stepSize) {
+        this.stepSize = Math.max(0d, stepSize);
+        if (this.stepSize > 0) {
+            tickTable = new TickTable(mapper, this.stepSize);
+            currentStep = tickTable.snap(normalizedThumbValue);
+        } else {
+            tickTable = null;
+            tickLines = null;
+            renderer.setTickLines(null);
+            currentStep = -1;
+        }
+        touchHelper.resetDispatchState();
+        updateGeometry();
+        invalidate();
+    }
+
+    public double getStepSize() {
+        return stepSize;
+    }
+
+    /**
+     * Sets the color of the tick marks drawn in step mode, the track progress color by default.
+     *
+     * @param color The tick color.
+     */
+    public void setTickColor(int color) {
+        renderer.setTickColor(color);
+        invalidate();
+    }
+
+    /**
+     * Binds this view to a slot of a shared model. The view shows the slot value, scaled into its own
+     * fromValue/toValue range, and writes the dragged value back into the model. The view only observes
+     * the model while attached to a window, programmatic values should be set on the model.
+     *
+     * @param model The model, or null to unbind.
+     * @param slot  The slot of the model this view shows.
+     */
+    public void setModel(SeekBarModel model, int slot) {
+        unregisterModel();
+        this.model = model;
+        this.modelSlot = slot;
+        if (isAttachedToWindow()) {
+            registerModel();
+        }
+    }
+
+    public SeekBarModel getModel() {
+        return model;
+    }
+
+    private void registerModel() {
+        if (model == null || isModelRegistered) {
+            return;
+        }
+        model.addObserver(modelObserver, modelSlot);
+        isModelRegistered = true;
+        // the model may have changed while this view was detached.
+        modelObserver.onModelValueChanged(model, modelSlot);
+    }
+
+    private void unregisterModel() {
+        if (isModelRegistered) {
+            model.removeObserver(modelObserver);
+            isModelRegistered = false;
+        }
+    }
+
+    /**
+     * Enables the value label drawn above the thumb. The label is formatted into a reused buffer and its
+     * width is cached per distinct text, showing the live value costs neither allocations nor layout
+     * passes while dragging. The view requests a layout since the label needs extra height.
+     *
+     * @param enabled true to draw the value label.
+     */
+    public void setValueLabelEnabled(boolean enabled) {
+        if (this.isValueLabelEnabled == enabled) {
+            return;
+        }
+        this.isValueLabelEnabled = enabled;
+        updateLabelMetrics();
+        updateGeometry();
+        requestLayout();
+        invalidate();
+    }
+
+    /**
+     * Sets the fixed-point format of the value label, the value is the one reported to the from resp.
+     * to listener.
+     *
+     * @param decimals The number of decimals, between 0 and {@link ValueFormatter#MAX_DECIMALS}.
+     * @param prefix   The text shown before the value, may be null.
+     * @param suffix   The text shown after the value, may be null.
+     */
+    public void setValueLabelFormat(int decimals, String prefix, String suffix) {
+        this.valueFormatter = new ValueFormatter(decimals, prefix, suffix);
+        updateLabelMetrics();
+        updateThumbGeometry();
+        invalidate();
+    }
+
+    /**
+     * Sets the text size of the value label.
+     *
+     * @param textSize The text size in pixels.
+     */
+    public void setValueLabelTextSize(float textSize) {
+        renderer.getLabelPaint().setTextSize(textSize);
+        updateLabelMetrics();
+        updateGeometry();
+        requestLayout();
+        invalidate();
+    }
+
+    public void setValueLabelColor(int color) {
+        renderer.getLabelPaint().setColor(color);
+        invalidate();
+    }
+
+    /**
+     * Enables low latency tracking: touch events are dispatched unbuffered while dragging and the thumb is
+     * drawn slightly ahead of the finger, extrapolated from the touch velocity by at most one frame and
+     * one thumb diameter. Listeners and {@link #getValue()} still report the real, unpredicted value.
+     * Prediction is not applied in step mode.
+     *
+     * @param enabled true to enable low latency tracking.
+     */
+    public void setLowLatencyTrackingEnabled(boolean enabled) {
+        this.isLowLatencyTrackingEnabled = enabled;
+        if (!enabled) {
+            clearPrediction();
+        }
+    }
+
+    /**
+     * Attaches a stream receiving every value change off the UI thread, next to the listeners.
+     *
+     * @param stream The stream to publish into, or null to stop publishing.
+     */
+    public void setValueStream(ValueStream stream) {
+        this.valueStream = stream;
+    }
+
+    /**
+     * Attaches performance counters to this view.
+     *
+     * @param metrics The metrics to record into, or null to disable recording.
+     */
+    public void setMetrics(SeekBarMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public SeekBarMetrics getMetrics() {
+        return metrics;
+    }
+
+    SeekBarRenderer getRenderer() {
+        return renderer;
+    }
+
+    float getThumbX() {
+        return thumbX;
+    }
+
+    @Override
+    public void invalidate() {
+        if (metrics != null) {
+            metrics.onInvalidate();
+        }
+        // a full invalidation repaints the thumb wherever it was, dirty regions start from here.
+        syncInvalidatedThumbState();
+        super.invalidate();
+    }
+
+    @SuppressWarnings("deprecation")
+    @Override
+    public void invalidate(int l, int t, int r, int b) {
+        if (metrics != null) {
+            metrics.onInvalidate();
+        }
+        super.invalidate(l, t, r, b);
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        registerModel();
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        touchHelper.cancelScheduledDispatch();
+        cancelKeySteps();
+        cancelValueAnimation();
+        unregisterModel();
+        super.onDetachedFromWindow();
+    }
+
     @Override
     protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
-        int width = (int) (Const.DEFAULT_WIDTH);
-        int height = (int) (newHeight + (padding / 4f));
+        int width = (int) (style.getWidth());
+        int height = (int) (newHeight + (padding / 4f) + labelSpace);
         setMeasuredDimension(Utils.measureDim(width, widthMeasureSpec), Utils.measureDim(height, heightMeasureSpec));
     }
 
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        mapper.setBounds(w, padding);
+        updateGeometry();
+        syncInvalidatedThumbState();
+    }
+
     @Override
     public boolean onTouchEvent(MotionEvent event) {
         if (!isEnabled()) {
             return false;
         }
+        if (metrics != null) {
+            metrics.onTouchEvent(event.getEventTime());
+        }
 
-        int pointerIndex;
-
-        final int action = event.getAction();
-        switch (action & MotionEvent.ACTION_MASK) {
-            case MotionEvent.ACTION_DOWN:
-                // Remember where the motion event started
-                mActivePointerId = event.getPointerId(event.getPointerCount() - 1);
-                pointerIndex = event.findPointerIndex(mActivePointerId);
-                mDownMotionX = event.getX(pointerIndex);
-                isThumbPressed = evalPressedThumb(mDownMotionX);
-
-                // Only handle thumb presses.
-                if (!isThumbPressed) {
-                    return super.onTouchEvent(event);
-                }
+        if (!touchHelper.onTouchEvent(event)) {
+            return super.onTouchEvent(event);
+        }
+        return true;
+    }
 
-                setPressed(true);
-                invalidate();
-                onStartTrackingTouch();
-                trackTouchEvent(event);
-                attemptClaimDrag();
-                break;
-
-            case MotionEvent.ACTION_MOVE:
-                if (isThumbPressed) {
-
-                    if (isDragging) {
-                        trackTouchEvent(event);
-                    } else {
-                        // Scroll to follow the motion event
-                        pointerIndex = event.findPointerIndex(mActivePointerId);
-                        final float x = event.getX(pointerIndex);
-
-                        if (Math.abs(x - mDownMotionX) > scaledTouchSlop) {
-                            setPressed(true);
-                            invalidate();
-                            onStartTrackingTouch();
-                            trackTouchEvent(event);
-                            attemptClaimDrag();
-                        }
-                    }
-
-                    notifyValueChange();
-                }
-                break;
-
-            case MotionEvent.ACTION_UP:
-                if (isDragging) {
-                    trackTouchEvent(event);
-                    onStopTrackingTouch();
-                    setPressed(false);
-                } else {
-                    // Touch up when we never crossed the touch slop threshold
-                    // should be interpreted as a tap-seek to that location.
-                    onStartTrackingTouch();
-                    trackTouchEvent(event);
-                    onStopTrackingTouch();
-                }
+    @Override
+    public boolean onKeyDown(int keyCode, KeyEvent event) {
+        if (isEnabled()) {
+            final int direction = getKeyDirection(keyCode);
+            // at the end of the range the key is not consumed, so focus can leave the view like AbsSeekBar.
+            if (direction != 0 && canStep(direction)) {
+                // the step grows the longer the key is held.
+                postKeySteps(direction * getAcceleration(event.getEventTime() - event.getDownTime()));
+                return true;
+            }
+        }
+        return super.onKeyDown(keyCode, event);
+    }
 
-                isThumbPressed = false;
-                invalidate();
-                notifyValueChange();
-                break;
-
-            case MotionEvent.ACTION_POINTER_DOWN: {
-                final int index = event.getPointerCount() - 1;
-                // final int index = ev.getActionIndex();
-                mDownMotionX = event.getX(index);
-                mActivePointerId = event.getPointerId(index);
-                invalidate();
-                break;
+    @Override
+    public boolean onGenericMotionEvent(MotionEvent event) {
+        if (isEnabled() && (event.getAction() & MotionEvent.ACTION_MASK) == MotionEvent.ACTION_SCROLL) {
+            final float delta;
+            if (event.isFromSource(InputDevice.SOURCE_ROTARY_ENCODER)) {
+                // clockwise rotation reports negative values and moves the thumb to the right.
+                delta = -event.getAxisValue(MotionEvent.AXIS_SCROLL);
+            } else if (event.isFromSource(InputDevice.SOURCE_CLASS_POINTER)) {
+                final float hScroll = event.getAxisValue(MotionEvent.AXIS_HSCROLL);
+                delta = hScroll != 0f ? hScroll : event.getAxisValue(MotionEvent.AXIS_VSCROLL);
+            } else {
+                delta = 0f;
             }
-            case MotionEvent.ACTION_POINTER_UP:
-                onSecondaryPointerUp(event);
-                invalidate();
-                break;
-            case MotionEvent.ACTION_CANCEL:
-                if (isDragging) {
-                    onStopTrackingTouch();
-                    setPressed(false);
+            if (delta != 0f) {
+                // a quick series of detents accelerates like a held key.
+                final long eventTime = event.getEventTime();
+                if (eventTime - lastScrollEventTime > Const.SCROLL_STREAK_TIMEOUT_MS) {
+                    scrollStreakStartTime = eventTime;
                 }
-                invalidate(); // see above explanation
-                break;
+                lastScrollEventTime = eventTime;
+                postKeySteps(delta * getAcceleration(eventTime - scrollStreakStartTime));
+                return true;
+            }
         }
-        return true;
+        return super.onGenericMotionEvent(event);
     }
 
-    private void notifyValueChange() {
-        if (thumbDirection == ThumbDirection.LEFT) {
-            if (fromListener != null) {
-                fromListener.onValueChange(getFromProgressValue(normalizedValue(normalizedThumbValue)));
-            }
+    /**
+     * Decides if a key step in the given direction can still move the value, taking the steps into account
+     * that are pending for the next frame.
+     *
+     * @param direction -1 for a step to the left, 1 for a step to the right.
+     * @return false if the value is already at that end of the range.
+     */
+    private boolean canStep(int direction) {
+        if (tickTable != null) {
+            final int step = tickTable.snap(normalizedThumbValue) + (int) Math.rint(pendingKeySteps);
+            return direction > 0 ? step < tickTable.size() - 1 : step > 0;
         }
-        if (thumbDirection == ThumbDirection.RIGHT) {
-            if (toListener != null) {
-                toListener.onValueChange(getToProgressValue(normalizedValue(normalizedThumbValue)));
-            }
+        final double value = normalizedThumbValue + pendingKeySteps * RangeEngine.CENTER / Const.KEY_STEPS_PER_SIDE;
+        return direction > 0 ? value < 1d : value > 0d;
+    }
+
+    private static int getKeyDirection(int keyCode) {
+        switch (keyCode) {
+            case KeyEvent.KEYCODE_DPAD_LEFT:
+            case KeyEvent.KEYCODE_MINUS:
+            case KeyEvent.KEYCODE_NUMPAD_SUBTRACT:
+                return -1;
+            case KeyEvent.KEYCODE_DPAD_RIGHT:
+            case KeyEvent.KEYCODE_PLUS:
+            case KeyEvent.KEYCODE_NUMPAD_ADD:
+                return 1;
+            default:
+                return 0;
         }
     }
 
-    private double getFromProgressValue(double progress) {
-        return Math.abs((fromValue * progress) / Const.DEFAULT_MIN_VALUE);
+    /**
+     * Returns the number of steps a single key or scroll event moves after the input was held resp.
+     * repeated for the given time, one more step every {@link Const#KEY_ACCELERATION_INTERVAL_MS}.
+     */
+    private static int getAcceleration(long heldMillis) {
+        return (int) Math.min(Const.KEY_MAX_ACCELERATION, 1 + Math.max(0, heldMillis) / Const.KEY_ACCELERATION_INTERVAL_MS);
+    }
+
+    /**
+     * Accumulates key and scroll steps, all steps of a frame are applied at once on the next animation
+     * frame so a burst of repeat events causes one value update, one callback and one invalidate.
+     */
+    private void postKeySteps(double steps) {
+        pendingKeySteps += steps;
+        if (!isKeyStepScheduled) {
+            isKeyStepScheduled = true;
+            postOnAnimation(keyStepRunnable);
+        }
     }
 
-    private double getToProgressValue(double progress) {
-        return Math.abs((toValue * progress) / Const.DEFAULT_MAX_VALUE);
+    private void applyKeySteps() {
+        if (isDragging) {
+            // touch wins, like values set while dragging.
+            pendingKeySteps = 0d;
+            return;
+        }
+        final double value;
+        if (tickTable != null) {
+            final int steps = (int) Math.rint(pendingKeySteps);
+            // keep fractional scroll steps for the next frame.
+            pendingKeySteps -= steps;
+            currentStep = Math.max(0, Math.min(tickTable.size() - 1, tickTable.snap(normalizedThumbValue) + steps));
+            value = tickTable.get(currentStep);
+        } else {
+            final double step = RangeEngine.CENTER / Const.KEY_STEPS_PER_SIDE;
+            value = Math.max(0d, Math.min(1d, normalizedThumbValue + pendingKeySteps * step));
+            pendingKeySteps = 0d;
+        }
+        if (value == normalizedThumbValue) {
+            return;
+        }
+        cancelValueAnimation();
+        setNormalizedValue(value);
+        writeModelValue();
+        touchHelper.dispatchValueChange(true);
     }
 
-    private void onSecondaryPointerUp(MotionEvent ev) {
-        final int pointerIndex = (ev.getAction() & Const.ACTION_POINTER_INDEX_MASK) >> Const.ACTION_POINTER_INDEX_SHIFT;
-        final int pointerId = ev.getPointerId(pointerIndex);
-        if (pointerId == mActivePointerId) {
-            // This was our active pointer going up. Choose
-            // a new active pointer and adjust accordingly.
-            final int newPointerIndex = pointerIndex == 0 ? 1 : 0;
-            mDownMotionX = ev.getX(newPointerIndex);
-            mActivePointerId = ev.getPointerId(newPointerIndex);
+    private void cancelKeySteps() {
+        pendingKeySteps = 0d;
+        if (isKeyStepScheduled) {
+            isKeyStepScheduled = false;
+            removeCallbacks(keyStepRunnable);
         }
     }
 
     /**
-     * Tries to claim the user's drag motion, and requests disallowing any
-     * ancestors from stealing events in the drag.
+     * Notifies the listeners of the given thumb side and value.
      */
-    private void attemptClaimDrag() {
-        if (getParent() != null) {
-            getParent().requestDisallowInterceptTouchEvent(true);
+    private void dispatchValueChange(ThumbDirection direction, double value) {
+        if (metrics != null) {
+            metrics.onDispatch();
+        }
+        if (valueStream != null) {
+            valueStream.publish(value, direction, System.nanoTime());
+        }
+        if (valueListener != null) {
+            valueListener.onValueChange(direction, value);
+        }
+
+        if (direction == ThumbDirection.LEFT) {
+            if (fromListener != null) {
+                fromListener.onValueChange(value);
+            }
+        } else {
+            if (toListener != null) {
+                toListener.onValueChange(value);
+            }
         }
     }
 
-    private void trackTouchEvent(MotionEvent event) {
-        final int pointerIndex = event.findPointerIndex(mActivePointerId);
+    private void trackTouchEvent(MotionEvent event, int pointerIndex) {
         final float x = event.getX(pointerIndex);
-        setNormalizedValue(screenToNormalized(x));
+        if (batchListener != null) {
+            dispatchValueBatch(event, pointerIndex);
+        }
+        double value = mapper.screenToNormalized(x);
+        if (tickTable != null) {
+            currentStep = tickTable.snap(value);
+            value = tickTable.get(currentStep);
+        } else if (isLowLatencyTrackingEnabled) {
+            updatePrediction(event, pointerIndex);
+        }
+        setNormalizedValue(value);
+        writeModelValue();
     }
 
     /**
-     * Converts screen space x-coordinates into normalized values.
-     *
-     * @param screenCoordinate The x-coordinate in screen space to convert.
-     * @return The normalized value.
-     */
-    private double screenToNormalized(float screenCoordinate) {
-        int width = getWidth();
-        if (width <= 2 * padding) {
-            // prevent division by zero, simply return 0.
-            return 0d;
-        } else {
-            double result = (screenCoordinate - padding) / (width - 2 * padding);
-            return Math.min(1d, Math.max(0d, result));
+     * Writes the value changed by user input, {@link #setValue(double)} or a finished animation back into
+     * the bound model.
+     */
+    private void writeModelValue() {
+        if (model != null) {
+            isUpdatingModel = true;
+            model.setValue(modelSlot, getValue());
+            isUpdatingModel = false;
         }
     }
 
-    private double normalizedValue(double normalized) {
-        return absoluteMinValue + normalized * (absoluteMaxValue - absoluteMinValue);
+    /**
+     * Feeds the samples of the given event to the velocity estimator and updates the bounded prediction
+     * the thumb is drawn with.
+     */
+    private void updatePrediction(MotionEvent event, int pointerIndex) {
+        final int historySize = event.getHistorySize();
+        for (int h = 0; h < historySize; h++) {
+            velocityEstimator.addSample(event.getHistoricalEventTime(h), event.getHistoricalX(pointerIndex, h));
+        }
+        velocityEstimator.addSample(event.getEventTime(), event.getX(pointerIndex));
+
+        final float maxOffset = 2 * Math.max(thumbRadius, thumbPressedRadius);
+        final float offset = velocityEstimator.getVelocity() * Const.PREDICTION_MILLIS;
+        predictedOffsetX = Math.max(-maxOffset, Math.min(maxOffset, offset));
     }
 
-    private double valueToNormalized(double value) {
-        if (0 == absoluteMaxValue - absoluteMinValue) {
-            // prevent division by zero, simply return 0.
-            return 0d;
+    private void clearPrediction() {
+        velocityEstimator.clear();
+        if (predictedOffsetX != 0f) {
+            predictedOffsetX = 0f;
+            updateThumbGeometry();
+            invalidateThumbState();
+        }
+    }
+
+    /**
+     * Delivers the historical and current samples of the given event in one batch callback.
+     * The batch arrays are reused and only grow when an event carries more samples than ever before.
+     */
+    private void dispatchValueBatch(MotionEvent event, int pointerIndex) {
+        final int historySize = event.getHistorySize();
+        final int count = historySize + 1;
+        if (batchValues.length < count) {
+            int capacity = Math.max(count, batchValues.length * 2);
+            batchValues = new double[capacity];
+            batchEventTimes = new long[capacity];
+        }
+
+        for (int h = 0; h < historySize; h++) {
+            batchValues[h] = mapper.normalizedToUserValue(mapper.screenToNormalized(event.getHistoricalX(pointerIndex, h)));
+            batchEventTimes[h] = event.getHistoricalEventTime(h);
         }
-        return (value - absoluteMinValue) / (absoluteMaxValue - absoluteMinValue);
+        batchValues[historySize] = mapper.normalizedToUserValue(mapper.screenToNormalized(event.getX(pointerIndex)));
+        batchEventTimes[historySize] = event.getEventTime();
+
+        batchListener.onValueBatch(batchValues, batchEventTimes, count);
     }
 
     /**
@@ -325,118 +951,160 @@ public class CenterThumbSeekBar extends View {
 
     private void setNormalizedValue(double value) {
         normalizedThumbValue = Math.max(0d, value);
-        invalidate();
+        updateValueState();
+        updateThumbGeometry();
+        invalidateThumbState();
     }
 
-    private void setProgress(double value) {
-        normalizedThumbValue = valueToNormalized(value);
-        invalidate();
+    /**
+     * Derives the thumb side and the value reported for it from the normalized thumb value, must be called
+     * whenever the thumb value changes. Drawing only reads the result.
+     */
+    private void updateValueState() {
+        if (normalizedThumbValue > mapper.valueToNormalized(0d)) {
+            thumbDirection = ThumbDirection.RIGHT;
+            thumbValue = mapper.normalizedToUserValue(normalizedThumbValue);
+        } else {
+            thumbDirection = ThumbDirection.LEFT;
+            thumbValue = -mapper.normalizedToUserValue(normalizedThumbValue);
+        }
+        if (isValueLabelEnabled) {
+            updateLabel();
+        }
     }
 
     /**
-     * This is called when the user has started touching this widget.
+     * Formats the label of the current value into the reusable buffer, its width is measured once per
+     * distinct label.
      */
-    private void onStartTrackingTouch() {
-        isDragging = true;
+    private void updateLabel() {
+        final long fixedPoint = valueFormatter.toFixedPoint(thumbValue);
+        labelLength = valueFormatter.formatFixedPoint(fixedPoint);
+        float width = labelWidthCache.get(fixedPoint);
+        if (Float.isNaN(width)) {
+            width = renderer.getLabelPaint().measureText(valueFormatter.getChars(), 0, labelLength);
+            labelWidthCache.put(fixedPoint, width);
+        }
+        labelWidth = width;
     }
 
     /**
-     * This is called when the user either releases his touch or the touch is
-     * canceled.
+     * Recomputes the space reserved above the thumb for the label, must be called whenever the label is
+     * toggled or its text style changes.
      */
-    private void onStopTrackingTouch() {
-        isDragging = false;
+    private void updateLabelMetrics() {
+        labelWidthCache.clear();
+        labelSpace = isValueLabelEnabled ? renderer.getLabelPaint().descent() - renderer.getLabelPaint().ascent() + labelSpacing : 0f;
+        if (isValueLabelEnabled) {
+            updateLabel();
+        }
     }
 
     /**
-     * Decides which (if any) thumb is touched by the given x-coordinate.
-     *
-     * @param touchX The x-coordinate of a touch event in screen space.
-     * @return The pressed thumb or null if none has been touched.
+     * Invalidates the view after a thumb state change. In partial invalidation mode only the horizontal
+     * span between the last invalidated and the current thumb position is invalidated, which covers
+     * both thumbs and the changed part of the progress segment.
      */
-    private boolean evalPressedThumb(float touchX) {
-        return isInThumbRange(touchX, normalizedThumbValue);
+    private void invalidateThumbState() {
+        if (!isPartialInvalidationEnabled) {
+            invalidate();
+            return;
+        }
+        if (thumbX == invalidatedThumbX && isThumbPressed == invalidatedThumbPressed) {
+            return;
+        }
+
+        float extent = Math.max(thumbRadius, thumbPressedRadius) + trackHeight + 1f;
+        if (isValueLabelEnabled) {
+            // a label clamped at a track end is offset by up to half its width from the thumb.
+            extent = Math.max(extent, Math.max(labelWidth, invalidatedLabelWidth) + 1f);
+            invalidatedLabelWidth = labelWidth;
+        }
+        final int left = (int) Math.floor(Math.min(thumbX, invalidatedThumbX) - extent);
+        final int right = (int) Math.ceil(Math.max(thumbX, invalidatedThumbX) + extent);
+        invalidatedThumbX = thumbX;
+        invalidatedThumbPressed = isThumbPressed;
+        invalidate(left, 0, right, getHeight());
     }
 
     /**
-     * Decides if given x-coordinate in screen space needs to be interpreted as
-     * "within" the normalized thumb x-coordinate.
-     *
-     * @param touchX               The x-coordinate in screen space to check.
-     * @param normalizedThumbValue The normalized x-coordinate of the thumb to check.
-     * @return true if x-coordinate is in thumb range, false otherwise.
+     * Records the current thumb state as the one on screen after the next draw.
      */
-    private boolean isInThumbRange(float touchX, double normalizedThumbValue) {
-        return Math.abs(touchX - normalizedToScreen(normalizedThumbValue)) <= thumbRadius;
+    private void syncInvalidatedThumbState() {
+        invalidatedThumbX = thumbX;
+        invalidatedThumbPressed = isThumbPressed;
+        invalidatedLabelWidth = labelWidth;
     }
 
     /**
-     * Converts a normalized value into screen space.
-     *
-     * @param normalizedCoordinates The normalized value to convert.
-     * @return The converted value in screen space.
+     * Rebuilds the cached track geometry, must be called whenever the view size changes.
      */
-    private float normalizedToScreen(double normalizedCoordinates) {
-        return (float) (padding + normalizedCoordinates * (getWidth() - 2 * padding));
+    private void updateGeometry() {
+        // the label, if any, sits in the space reserved above the track.
+        final float trackCenterY = labelSpace + 0.5f * (getHeight() - labelSpace);
+        centerX = mapper.normalizedToScreen(mapper.valueToNormalized(0.0d));
+        thumbY = trackCenterY;
+        renderer.setTrackGeometry(padding, getWidth() - padding, trackCenterY, centerX);
+        labelBaseline = labelSpace - labelSpacing - renderer.getLabelPaint().descent();
+        updateTickGeometry();
+        updateThumbGeometry();
     }
 
-    @SuppressLint("DrawAllocation")
-    @Override
-    protected void onDraw(Canvas canvas) {
-        super.onDraw(canvas);
-        // draw seek bar background line
-        final RectF rect = new RectF(padding, 0.5f * (getHeight() - trackHeight), getWidth() - padding, 0.5f * (getHeight() + trackHeight));
-
-        paint.setColor(trackColor);
-        if (hasRoundedCorners) {
-            canvas.drawRoundRect(rect, trackHeight, trackHeight, paint);
-        } else {
-            canvas.drawRect(rect, paint);
+    /**
+     * Rebuilds the tick mark lines of step mode, drawn with a single {@link Canvas#drawLines(float[], Paint)}.
+     */
+    private void updateTickGeometry() {
+        if (tickTable == null) {
+            return;
         }
-
-        // draw seek bar active range line
-        if (normalizedToScreen(valueToNormalized(0.0d)) < normalizedToScreen(normalizedThumbValue)) {
-            thumbDirection = ThumbDirection.RIGHT;
-            rect.left = normalizedToScreen(valueToNormalized(0.0d));
-            rect.right = normalizedToScreen(normalizedThumbValue);
-        } else {
-            thumbDirection = ThumbDirection.LEFT;
-            rect.right = normalizedToScreen(valueToNormalized(0.0d));
-            rect.left = normalizedToScreen(normalizedThumbValue);
+        final int lineCount = tickTable.size() * 4;
+        if (tickLines == null || tickLines.length != lineCount) {
+            tickLines = new float[lineCount];
         }
-
-        paint.setColor(trackProgressColor);
-        if (hasRoundedCorners) {
-            canvas.drawRoundRect(rect, trackHeight, trackHeight, paint);
-        } else {
-            canvas.drawRect(rect, paint);
+        final float tickTop = renderer.getTrackRect().top - trackHeight;
+        final float tickBottom = renderer.getTrackRect().bottom + trackHeight;
+        for (int i = 0; i < tickTable.size(); i++) {
+            final float x = mapper.normalizedToScreen(tickTable.get(i));
+            tickLines[i * 4] = x;
+            tickLines[i * 4 + 1] = tickTop;
+            tickLines[i * 4 + 2] = x;
+            tickLines[i * 4 + 3] = tickBottom;
         }
+        renderer.setTickLines(tickLines);
+    }
 
-        drawThumb(normalizedToScreen(normalizedThumbValue), isThumbPressed, canvas);
+    /**
+     * Rebuilds the cached thumb and progress geometry, must be called whenever the thumb value changes.
+     */
+    private void updateThumbGeometry() {
+        thumbX = mapper.normalizedToScreen(normalizedThumbValue);
+        if (predictedOffsetX != 0f) {
+            thumbX = Math.max(padding, Math.min(getWidth() - padding, thumbX + predictedOffsetX));
+        }
+        renderer.setThumbX(thumbX);
+        // keep the label inside the view at both track ends.
+        labelX = Math.max(0.5f * labelWidth, Math.min(getWidth() - 0.5f * labelWidth, thumbX));
     }
 
     /**
-     * Draws the "normal" resp. "pressed" thumb image on specified x-coordinate.
+     * Decides which (if any) thumb is touched by the given x-coordinate.
      *
-     * @param screenCoordinate The x-coordinate in screen space where to draw the image.
-     * @param pressed          Is the thumb currently in "pressed" state?
-     * @param canvas           The canvas to draw upon.
-     */
-    private void drawThumb(float screenCoordinate, boolean pressed, Canvas canvas) {
-        if (thumbImage != null && thumbPressedImage != null) {
-            if (pressed) {
-                canvas.drawBitmap(thumbPressedImage, screenCoordinate - (thumbPressedRadius / 2f), (0.5f * getHeight()) - (thumbPressedRadius / 2f), paint);
-            } else {
-                canvas.drawBitmap(thumbImage, screenCoordinate - (thumbRadius / 2f), (0.5f * getHeight()) - (thumbRadius / 2f), paint);
-            }
-        } else {
-            if (pressed) {
-                paint.setColor(thumbPressColor);
-                canvas.drawCircle(screenCoordinate, (0.5f * getHeight()), thumbPressedRadius, paint);
-            } else {
-                paint.setColor(thumbColor);
-                canvas.drawCircle(screenCoordinate, (0.5f * getHeight()), thumbRadius, paint);
-            }
+     * @param touchX The x-coordinate of a touch event in screen space.
+     * @return The pressed thumb or null if none has been touched.
+     */
+    private boolean evalPressedThumb(float touchX) {
+        return mapper.isInThumbRange(touchX, normalizedThumbValue, thumbRadius);
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        super.onDraw(canvas);
+        if (metrics != null) {
+            metrics.onDraw();
+        }
+        renderer.draw(canvas, isThumbPressed);
+        if (isValueLabelEnabled) {
+            renderer.drawLabel(canvas, valueFormatter.getChars(), labelLength, labelX, labelBaseline);
         }
     }
 
@@ -453,4 +1121,21 @@ public class CenterThumbSeekBar extends View {
     public interface OnToValueChangeListener {
         void onValueChange(double value);
     }
-}
\ No newline at end of file
+
+    /**
+     * Callback listener interface to receive every touch sample of a move in one call. Values are signed,
+     * negative on the "from" side of the center. The arrays are reused between calls, only the first
+     * {@code count} entries are valid and only for the duration of the call.
+     */
+    public interface OnValueBatchListener {
+        void onValueBatch(double[] values, long[] eventTimes, int count);
+    }
+
+    /**
+     * Callback listener interface to notify about value changes of either side. The value is absolute,
+     * the direction tells the side of the center it belongs to.
+     */
+    public interface OnValueChangeListener {
+        void onValueChange(ThumbDirection direction, double value);
+    }
+}
@@ -0,0 +1,286 @@
+package ui.widget.seekbar;
+
+import android.annotation.SuppressLint;
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.util.AttributeSet;
+import android.view.MotionEvent;
+import android.view.View;
+
+import java.util.Arrays;
+
+/**
+ * Renders a stack of center thumb seek bars ("channels") in a single view, e.g. for equalizer or mixer
+ * screens. Channel values are kept in primitive arrays, all tracks are drawn in one {@link #onDraw(Canvas)}
+ * and every finger can move its own channel at the same time. Styling and the fromValue/toValue scaling
+ * are shared by all channels and use the {@code CenterThumbSeekBar} attributes.
+ */
+@SuppressLint("ClickableViewAccessibility")
+public class CenterThumbSeekBarGroup extends View {
+
+    private final SeekBarStyle style;
+    private final ValueMapper mapper = new ValueMapper(Const.DEFAULT_MIN_VALUE, Const.DEFAULT_MAX_VALUE);
+    private final int[] pointerChannels = new int[Const.POINTER_ID_LIMIT];
+    private final int channelCount;
+    private final double[] normalizedValues;
+    private final boolean[] pressedChannels;
+    private final SeekBarRenderer[] renderers;
+    private SeekBarConfig config;
+    private float thumbRadius;
+    private float padding;
+    private float newHeight;
+    private float channelHeight;
+    private float centerX;
+    private OnChannelValueChangeListener listener;
+
+    public CenterThumbSeekBarGroup(Context context) {
+        this(context, null);
+    }
+
+    public CenterThumbSeekBarGroup(Context context, AttributeSet attrs) {
+        this(context, attrs, 0);
+    }
+
+    public CenterThumbSeekBarGroup(Context context, AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+
+        style = SeekBarStyle.get(context);
+
+        final TypedArray groupAttrs = context.obtainStyledAttributes(attrs, R.styleable.CenterThumbSeekBarGroup, defStyleAttr, 0);
+        channelCount = Math.max(1, groupAttrs.getInt(R.styleable.CenterThumbSeekBarGroup_channelCount, Const.DEFAULT_CHANNEL_COUNT));
+        groupAttrs.recycle();
+
+        final TypedArray a = context.obtainStyledAttributes(attrs, R.styleable.CenterThumbSeekBar, defStyleAttr, 0);
+        SeekBarConfig.Builder builder = SeekBarConfig.fromAttributes(context, a, style);
+        a.recycle();
+
+        normalizedValues = new double[channelCount];
+        pressedChannels = new boolean[channelCount];
+        renderers = new SeekBarRenderer[channelCount];
+        for (int channel = 0; channel < channelCount; channel++) {
+            renderers[channel] = new SeekBarRenderer();
+        }
+        Arrays.fill(pointerChannels, -1);
+
+        applyConfig(builder.build());
+        Arrays.fill(normalizedValues, mapper.valueToNormalized(0d));
+    }
+
+    private void applyConfig(SeekBarConfig config) {
+        this.config = config;
+        mapper.setValueRange(config.getFromValue(), config.getToValue());
+        mapper.setResponseCurve(config.getResponseCurve());
+        for (SeekBarRenderer renderer : renderers) {
+            renderer.applyConfig(config);
+        }
+        this.thumbRadius = SeekBarRenderer.getThumbRadius(config);
+
+        newHeight = SeekBarRenderer.getThumbHeight(config);
+        padding = newHeight;
+    }
+
+    /**
+     * Applies a new configuration to all channels, the channel values are kept.
+     *
+     * @param config The configuration to apply.
+     */
+    public void setConfig(SeekBarConfig config) {
+        applyConfig(config);
+        mapper.setBounds(getWidth(), padding);
+        updateGeometry();
+        requestLayout();
+        invalidate();
+    }
+
+    public SeekBarConfig getConfig() {
+        return config;
+    }
+
+    public int getChannelCount() {
+        return channelCount;
+    }
+
+    public void setOnChannelValueChangeListener(OnChannelValueChangeListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Returns the signed value of a channel, negative on the "from" side of the center.
+     *
+     * @param channel The channel index.
+     * @return The signed value.
+     */
+    public double getValue(int channel) {
+        return mapper.normalizedToUserValue(normalizedValues[channel]);
+    }
+
+    /**
+     * Sets the signed value of a channel without notifying the listener.
+     *
+     * @param channel The channel index.
+     * @param value   The signed value, negative on the "from" side of the center.
+     */
+    public void setValue(int channel, double value) {
+        normalizedValues[channel] = mapper.userValueToNormalized(value);
+        renderers[channel].setThumbX(mapper.normalizedToScreen(normalizedValues[channel]));
+        invalidate();
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int width = (int) (style.getWidth());
+        int height = (int) ((newHeight + (padding / 4f)) * channelCount);
+        setMeasuredDimension(Utils.measureDim(width, widthMeasureSpec), Utils.measureDim(height, heightMeasureSpec));
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        mapper.setBounds(w, padding);
+        updateGeometry();
+    }
+
+    /**
+     * Lays out the track of every channel in its own row of the laid out height, must be called whenever
+     * the size or the configuration changes.
+     */
+    private void updateGeometry() {
+        channelHeight = (float) getHeight() / channelCount;
+        centerX = mapper.normalizedToScreen(mapper.valueToNormalized(0.0d));
+        for (int channel = 0; channel < channelCount; channel++) {
+            final SeekBarRenderer renderer = renderers[channel];
+            renderer.setTrackGeometry(padding, getWidth() - padding, (channel + 0.5f) * channelHeight, centerX);
+            renderer.setThumbX(mapper.normalizedToScreen(normalizedValues[channel]));
+        }
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        if (!isEnabled()) {
+            return false;
+        }
+
+        switch (event.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN:
+            case MotionEvent.ACTION_POINTER_DOWN: {
+                final int index = event.getActionIndex();
+                final int channel = findChannel(event.getX(index), event.getY(index));
+                if (channel < 0) {
+                    if (event.getActionMasked() == MotionEvent.ACTION_DOWN && !isInTrackArea(event.getX(index))) {
+                        return super.onTouchEvent(event);
+                    }
+                    // keep the gesture, a later finger may still land on a thumb.
+                    break;
+                }
+                trackPointer(event.getPointerId(index), channel);
+                attemptClaimDrag();
+                invalidate();
+                break;
+            }
+            case MotionEvent.ACTION_MOVE:
+                for (int i = 0; i < event.getPointerCount(); i++) {
+                    final int pointerId = event.getPointerId(i);
+                    if (pointerId < Const.POINTER_ID_LIMIT && pointerChannels[pointerId] >= 0) {
+                        moveChannel(pointerChannels[pointerId], event.getX(i));
+                    }
+                }
+                break;
+
+            case MotionEvent.ACTION_UP:
+            case MotionEvent.ACTION_POINTER_UP: {
+                final int index = event.getActionIndex();
+                final int pointerId = event.getPointerId(index);
+                if (pointerId < Const.POINTER_ID_LIMIT && pointerChannels[pointerId] >= 0) {
+                    moveChannel(pointerChannels[pointerId], event.getX(index));
+                    releasePointer(pointerId);
+                }
+                invalidate();
+                break;
+            }
+            case MotionEvent.ACTION_CANCEL:
+                for (int pointerId = 0; pointerId < Const.POINTER_ID_LIMIT; pointerId++) {
+                    releasePointer(pointerId);
+                }
+                invalidate();
+                break;
+        }
+        return true;
+    }
+
+    /**
+     * Decides which channel thumb (if any) is touched by the given coordinates.
+     *
+     * @return The channel index, or -1 if no free thumb has been touched.
+     */
+    private int findChannel(float touchX, float touchY) {
+        final int channel = (int) (touchY / channelHeight);
+        if (channel < 0 || channel >= channelCount || pressedChannels[channel]) {
+            return -1;
+        }
+        return mapper.isInThumbRange(touchX, normalizedValues[channel], thumbRadius) ? channel : -1;
+    }
+
+    private boolean isInTrackArea(float touchX) {
+        return touchX >= padding - thumbRadius && touchX <= getWidth() - padding + thumbRadius;
+    }
+
+    private void trackPointer(int pointerId, int channel) {
+        if (pointerId >= Const.POINTER_ID_LIMIT) {
+            return;
+        }
+        pointerChannels[pointerId] = channel;
+        pressedChannels[channel] = true;
+    }
+
+    private void releasePointer(int pointerId) {
+        final int channel = pointerChannels[pointerId];
+        if (channel >= 0) {
+            pressedChannels[channel] = false;
+            pointerChannels[pointerId] = -1;
+        }
+    }
+
+    private void moveChannel(int channel, float x) {
+        final double value = mapper.screenToNormalized(x);
+        if (value == normalizedValues[channel]) {
+            return;
+        }
+        normalizedValues[channel] = value;
+        renderers[channel].setThumbX(mapper.normalizedToScreen(value));
+        invalidate();
+        if (listener != null) {
+            listener.onValueChange(channel, mapper.normalizedToUserValue(value));
+        }
+    }
+
+    /**
+     * Tries to claim the user's drag motion, and requests disallowing any
+     * ancestors from stealing events in the drag.
+     */
+    private void attemptClaimDrag() {
+        if (getParent() != null) {
+            getParent().requestDisallowInterceptTouchEvent(true);
+        }
+    }
+
+    SeekBarRenderer getRenderer(int channel) {
+        return renderers[channel];
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        super.onDraw(canvas);
+        for (int channel = 0; channel < channelCount; channel++) {
+            renderers[channel].draw(canvas, pressedChannels[channel]);
+        }
+    }
+
+    /**
+     * Callback listener interface to notify about changed channel values. Values are signed, negative on
+     * the "from" side of the center.
+     */
+    public interface OnChannelValueChangeListener {
+        void onValueChange(int channel, double value);
+    }
+}
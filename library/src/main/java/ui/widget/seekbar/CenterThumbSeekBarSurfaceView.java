@@ -0,0 +1,378 @@
+package ui.widget.seekbar;
+
+import android.annotation.SuppressLint;
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.graphics.PorterDuff;
+import android.os.Build;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.util.AttributeSet;
+import android.view.Choreographer;
+import android.view.MotionEvent;
+import android.view.SurfaceHolder;
+import android.view.SurfaceView;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Variant of {@link CenterThumbSeekBar} rendering on a dedicated thread into its own surface, for dense
+ * dashboards of live values that should not compete for the draw time of the UI thread. Track, progress and
+ * thumb are drawn by the same renderer as {@link CenterThumbSeekBar}; step mode and the value label are not
+ * supported.
+ * <p>
+ * Input is handled on the UI thread by the same touch handling as {@link CenterThumbSeekBar}, including
+ * touch slop, tap-to-seek and the {@link ValueDispatchMode}. Values are handed to the render thread without
+ * locking and at most one frame is rendered per display frame, however
+ * often {@link #setValue(double)} is called.
+ */
+@SuppressLint("ClickableViewAccessibility")
+public class CenterThumbSeekBarSurfaceView extends SurfaceView implements SurfaceHolder.Callback {
+
+    private final SeekBarStyle style;
+    private final ValueMapper mapper = new ValueMapper(Const.DEFAULT_MIN_VALUE, Const.DEFAULT_MAX_VALUE);
+    private float thumbRadius;
+    private float padding;
+    private float newHeight;
+    private ThumbDirection thumbDirection = ThumbDirection.NONE;
+    private double thumbValue;
+    private CenterThumbSeekBar.OnValueChangeListener listener;
+    private final ThumbTouchHelper touchHelper = new ThumbTouchHelper(this, new ThumbTouchHelper.Callback() {
+        @Override
+        public boolean isInThumbRange(float touchX) {
+            return mapper.isInThumbRange(touchX, mapper.userValueToNormalized(getValue()), thumbRadius);
+        }
+
+        @Override
+        public void onThumbStateChanged(boolean pressed) {
+            isThumbPressed = pressed;
+            requestRender();
+        }
+
+        @Override
+        public void onStartTrackingTouch(MotionEvent event) {
+            isDragging = true;
+        }
+
+        @Override
+        public void onTrackTouchEvent(MotionEvent event, int pointerIndex) {
+            trackTouchEvent(event, pointerIndex);
+        }
+
+        @Override
+        public void onStopTrackingTouch() {
+            isDragging = false;
+        }
+
+        @Override
+        public ThumbDirection getThumbDirection() {
+            return thumbDirection;
+        }
+
+        @Override
+        public double getThumbValue() {
+            return thumbValue;
+        }
+
+        @Override
+        public int getThumbStep() {
+            return -1;
+        }
+
+        @Override
+        public void onDispatchValueChange(ThumbDirection direction, double value) {
+            if (listener != null) {
+                listener.onValueChange(direction, value);
+            }
+        }
+    });
+
+    // handed over to the render thread, written by any thread resp. the UI thread
+    private final AtomicLong valueBits = new AtomicLong();
+    private final AtomicBoolean isFrameScheduled = new AtomicBoolean();
+    private volatile SeekBarConfig config;
+    private volatile boolean isDragging;
+    private volatile boolean isThumbPressed;
+    private volatile boolean isGradientTrackEnabled;
+    private volatile int surfaceColor;
+    private volatile long surfaceSize;
+    private volatile Handler renderHandler;
+    private HandlerThread renderThread;
+
+    // owned by the render thread
+    private final SeekBarRenderer renderer = new SeekBarRenderer();
+    private final ValueMapper renderMapper = new ValueMapper(Const.DEFAULT_MIN_VALUE, Const.DEFAULT_MAX_VALUE);
+    private SeekBarConfig renderConfig;
+    private boolean isRenderGradientTrackEnabled;
+    private long renderSize;
+    private final Choreographer.FrameCallback frameCallback = new Choreographer.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            // clear the flag first, a value published during the frame schedules the next one.
+            isFrameScheduled.set(false);
+            renderFrame();
+        }
+    };
+    private final Runnable scheduleFrameRunnable = new Runnable() {
+        @Override
+        public void run() {
+            Choreographer.getInstance().postFrameCallback(frameCallback);
+        }
+    };
+
+    public CenterThumbSeekBarSurfaceView(Context context) {
+        this(context, null);
+    }
+
+    public CenterThumbSeekBarSurfaceView(Context context, AttributeSet attrs) {
+        this(context, attrs, 0);
+    }
+
+    public CenterThumbSeekBarSurfaceView(Context context, AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+
+        style = SeekBarStyle.get(context);
+
+        final TypedArray a = context.obtainStyledAttributes(attrs, R.styleable.CenterThumbSeekBar, defStyleAttr, 0);
+        SeekBarConfig.Builder builder = SeekBarConfig.fromAttributes(context, a, style);
+        a.recycle();
+
+        // the surface sits behind the window, it must paint the background the window would show.
+        final TypedArray theme = context.getTheme().obtainStyledAttributes(new int[]{android.R.attr.colorBackground});
+        surfaceColor = theme.getColor(0, 0);
+        theme.recycle();
+
+        applyConfig(builder.build());
+        getHolder().addCallback(this);
+    }
+
+    private void applyConfig(SeekBarConfig config) {
+        mapper.setValueRange(config.getFromValue(), config.getToValue());
+        mapper.setResponseCurve(config.getResponseCurve());
+        thumbRadius = SeekBarRenderer.getThumbRadius(config);
+        newHeight = SeekBarRenderer.getThumbHeight(config);
+        padding = newHeight;
+        this.config = config;
+    }
+
+    /**
+     * Applies the given configuration, the render thread picks it up with the next frame.
+     *
+     * @param config The configuration to apply.
+     */
+    public void setConfig(SeekBarConfig config) {
+        float oldHeight = newHeight;
+        applyConfig(config);
+        mapper.setBounds(getWidth(), padding);
+        if (newHeight != oldHeight) {
+            requestLayout();
+        }
+        requestRender();
+    }
+
+    public SeekBarConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Sets the value shown by the thumb, safe to call from any thread and at any rate. Values set while the
+     * user drags the thumb are dropped, the listener is not notified.
+     *
+     * @param value The signed value, negative on the "from" side of the center.
+     */
+    public void setValue(double value) {
+        if (isDragging) {
+            return;
+        }
+        valueBits.set(Double.doubleToRawLongBits(value));
+        requestRender();
+    }
+
+    /**
+     * Returns the value currently shown by the thumb, safe to call from any thread.
+     *
+     * @return The signed value, negative on the "from" side of the center.
+     */
+    public double getValue() {
+        return Double.longBitsToDouble(valueBits.get());
+    }
+
+    /**
+     * Sets the listener notified on the UI thread while the user drags the thumb.
+     *
+     * @param listener The listener, or null to remove it.
+     */
+    public void setOnValueChangeListener(CenterThumbSeekBar.OnValueChangeListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * See {@link CenterThumbSeekBar#setValueDispatchMode(ValueDispatchMode)}.
+     *
+     * @param mode The dispatch mode.
+     */
+    public void setValueDispatchMode(ValueDispatchMode mode) {
+        touchHelper.setValueDispatchMode(mode);
+    }
+
+    public ValueDispatchMode getValueDispatchMode() {
+        return touchHelper.getValueDispatchMode();
+    }
+
+    /**
+     * See {@link CenterThumbSeekBar#setMinValueDelta(double)}.
+     *
+     * @param minValueDelta The minimum absolute delta, 0 to only suppress unchanged values.
+     */
+    public void setMinValueDelta(double minValueDelta) {
+        touchHelper.setMinValueDelta(minValueDelta);
+    }
+
+    /**
+     * See {@link CenterThumbSeekBar#setGradientTrackEnabled(boolean)}.
+     *
+     * @param enabled true to draw track and progress in one pass.
+     */
+    public void setGradientTrackEnabled(boolean enabled) {
+        this.isGradientTrackEnabled = enabled;
+        requestRender();
+    }
+
+    /**
+     * Sets the color the surface is cleared with, the theme's background color by default.
+     *
+     * @param color The background color of the surface.
+     */
+    public void setSurfaceColor(int color) {
+        this.surfaceColor = color;
+        requestRender();
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int width = (int) (style.getWidth());
+        int height = (int) (newHeight + (padding / 4f));
+        setMeasuredDimension(Utils.measureDim(width, widthMeasureSpec), Utils.measureDim(height, heightMeasureSpec));
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        mapper.setBounds(w, padding);
+    }
+
+    @Override
+    public void surfaceCreated(SurfaceHolder holder) {
+        renderThread = new HandlerThread("CenterThumbSeekBarSurfaceView");
+        renderThread.start();
+        isFrameScheduled.set(false);
+        renderHandler = new Handler(renderThread.getLooper());
+    }
+
+    @Override
+    public void surfaceChanged(SurfaceHolder holder, int format, int width, int height) {
+        // packed into one field so the render thread never sees a torn size.
+        surfaceSize = ((long) width << 32) | (height & 0xffffffffL);
+        requestRender();
+    }
+
+    @Override
+    public void surfaceDestroyed(SurfaceHolder holder) {
+        renderHandler = null;
+        // pending frames are dropped, a frame in progress completes while the surface is still valid.
+        renderThread.quitSafely();
+        try {
+            renderThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        renderThread = null;
+    }
+
+    private void requestRender() {
+        final Handler handler = renderHandler;
+        if (handler != null && isFrameScheduled.compareAndSet(false, true)) {
+            handler.post(scheduleFrameRunnable);
+        }
+    }
+
+    /**
+     * Draws one frame on the render thread from the latest published state.
+     */
+    private void renderFrame() {
+        final SeekBarConfig config = this.config;
+        final long size = surfaceSize;
+        final int width = (int) (size >>> 32);
+        final int height = (int) size;
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        if (config != renderConfig) {
+            renderConfig = config;
+            renderer.applyConfig(config);
+            renderMapper.setValueRange(config.getFromValue(), config.getToValue());
+            renderMapper.setResponseCurve(config.getResponseCurve());
+            renderSize = 0;
+        }
+        if (isGradientTrackEnabled != isRenderGradientTrackEnabled) {
+            isRenderGradientTrackEnabled = isGradientTrackEnabled;
+            renderer.setGradientTrackEnabled(isRenderGradientTrackEnabled);
+        }
+        if (size != renderSize) {
+            renderSize = size;
+            final float padding = SeekBarRenderer.getThumbHeight(config);
+            renderMapper.setBounds(width, padding);
+            final float centerX = renderMapper.normalizedToScreen(renderMapper.valueToNormalized(0d));
+            renderer.setTrackGeometry(padding, width - padding, 0.5f * height, centerX);
+        }
+
+        final double value = Double.longBitsToDouble(valueBits.get());
+        renderer.setThumbX(renderMapper.normalizedToScreen(renderMapper.userValueToNormalized(value)));
+
+        final SurfaceHolder holder = getHolder();
+        final Canvas canvas = Build.VERSION.SDK_INT >= Build.VERSION_CODES.O ? holder.lockHardwareCanvas() : holder.lockCanvas();
+        if (canvas == null) {
+            return;
+        }
+        try {
+            canvas.drawColor(surfaceColor, PorterDuff.Mode.SRC);
+            renderer.draw(canvas, isThumbPressed);
+        } finally {
+            holder.unlockCanvasAndPost(canvas);
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        touchHelper.cancelScheduledDispatch();
+        super.onDetachedFromWindow();
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        if (!isEnabled()) {
+            return false;
+        }
+        if (!touchHelper.onTouchEvent(event)) {
+            return super.onTouchEvent(event);
+        }
+        return true;
+    }
+
+    private void trackTouchEvent(MotionEvent event, int pointerIndex) {
+        final double normalized = mapper.screenToNormalized(event.getX(pointerIndex));
+        final double value = mapper.normalizedToUserValue(normalized);
+        valueBits.set(Double.doubleToRawLongBits(value));
+        requestRender();
+
+        if (normalized > mapper.valueToNormalized(0d)) {
+            thumbDirection = ThumbDirection.RIGHT;
+            thumbValue = value;
+        } else {
+            thumbDirection = ThumbDirection.LEFT;
+            thumbValue = -value;
+        }
+    }
+}
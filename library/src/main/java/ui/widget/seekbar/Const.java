@@ -7,11 +7,26 @@ public class Const {
     public static final float DEFAULT_MIN_VALUE = -100f;
     public static final float DEFAULT_MAX_VALUE = +100f;
     public static final float DEFAULT_PROGRESS_VALUE = 0f;
-    public static int DEFAULT_THUMB_COLOR;
-    public static int DEFAULT_TRACK_PROGRESS_COLOR;
-    public static int DEFAULT_TRACK_COLOR;
-    public static float DEFAULT_WIDTH = Utils.dpToPx(28);
-    public static float DEFAULT_TRACK_HEIGHT = Utils.dpToPx(2);
-    public static float DEFAULT_THUMB_RADIUS = Utils.dpToPx(6);
-    public static float DEFAULT_THUMB_PRESSED_RADIUS = Utils.dpToPx(7);
+    public static final int DEFAULT_BATCH_CAPACITY = 16;
+    public static final int DEFAULT_WIDTH_DP = 28;
+    public static final int DEFAULT_TRACK_HEIGHT_DP = 2;
+    public static final int DEFAULT_THUMB_RADIUS_DP = 6;
+    public static final int DEFAULT_THUMB_PRESSED_RADIUS_DP = 7;
+    public static final int DEFAULT_CHANNEL_COUNT = 1;
+    public static final int POINTER_ID_LIMIT = 32;
+    public static final long DEFAULT_ANIMATION_DURATION_MS = 250;
+    public static final float PREDICTION_MILLIS = 16f;
+    public static final int DEFAULT_LABEL_TEXT_SIZE_SP = 12;
+    public static final int DEFAULT_LABEL_SPACING_DP = 4;
+    public static final int DEFAULT_LABEL_DECIMALS = 0;
+    public static final int LABEL_WIDTH_CACHE_SIZE = 64;
+    public static final int RESPONSE_CURVE_TABLE_SIZE = 1024;
+    public static final double RESPONSE_CURVE_RATIO = 100d;
+    public static final int RESPONSE_CURVE_LINEAR = 0;
+    public static final int RESPONSE_CURVE_LOGARITHMIC = 1;
+    public static final int RESPONSE_CURVE_EXPONENTIAL = 2;
+    public static final int KEY_STEPS_PER_SIDE = 100;
+    public static final long KEY_ACCELERATION_INTERVAL_MS = 200;
+    public static final int KEY_MAX_ACCELERATION = 20;
+    public static final long SCROLL_STREAK_TIMEOUT_MS = 150;
 }
@@ -0,0 +1,322 @@
+package ui.widget.seekbar;
+
+import android.view.MotionEvent;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Compact recording of a touch gesture, including multi-pointer sequences, used to replay real gestures
+ * into a {@link CenterThumbSeekBar} in benchmarks and tests. Events are recorded from an
+ * {@code OnTouchListener} with {@link #record(MotionEvent)} or added synthetically. Like a
+ * {@link MotionEvent}, every event keeps its batched historical samples, so a replay delivers as many
+ * events as the device did.
+ * <p>
+ * Binary format, big endian: magic, version, event count, then per event the masked action, the action
+ * pointer index, the pointer count, the pointer ids, the sample count and per sample the time since the
+ * first event in ms and per pointer x and y. The last sample of an event is its current sample.
+ */
+public class GestureRecording {
+
+    public static final int MAGIC = 0x43544753;
+    public static final int VERSION = 2;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private int[] actions = new int[INITIAL_CAPACITY];
+    private int[] actionIndices = new int[INITIAL_CAPACITY];
+    private int[] pointerCounts = new int[INITIAL_CAPACITY];
+    private int[] pointerOffsets = new int[INITIAL_CAPACITY];
+    private int[] sampleCounts = new int[INITIAL_CAPACITY];
+    private int[] sampleOffsets = new int[INITIAL_CAPACITY];
+    private int[] coordOffsets = new int[INITIAL_CAPACITY];
+    private int[] pointerIds = new int[INITIAL_CAPACITY];
+    private int[] sampleTimes = new int[INITIAL_CAPACITY];
+    private float[] xs = new float[INITIAL_CAPACITY];
+    private float[] ys = new float[INITIAL_CAPACITY];
+    private int eventCount;
+    private int pointerIdCount;
+    private int sampleCount;
+    private int coordCount;
+    private long firstEventTime = -1;
+
+    /**
+     * Records a copy of the given event together with its batched historical samples.
+     *
+     * @param event The event to record.
+     */
+    public void record(MotionEvent event) {
+        final int pointerCount = event.getPointerCount();
+        final int historySize = event.getHistorySize();
+        final int[] ids = new int[pointerCount];
+        final float[] eventXs = new float[pointerCount];
+        final float[] eventYs = new float[pointerCount];
+        for (int p = 0; p < pointerCount; p++) {
+            ids[p] = event.getPointerId(p);
+        }
+
+        for (int h = 0; h < historySize; h++) {
+            for (int p = 0; p < pointerCount; p++) {
+                eventXs[p] = event.getHistoricalX(p, h);
+                eventYs[p] = event.getHistoricalY(p, h);
+            }
+            if (h == 0) {
+                addEvent(event.getActionMasked(), event.getActionIndex(), event.getHistoricalEventTime(h),
+                        pointerCount, ids, eventXs, eventYs);
+            } else {
+                addBatch(event.getHistoricalEventTime(h), eventXs, eventYs);
+            }
+        }
+
+        for (int p = 0; p < pointerCount; p++) {
+            eventXs[p] = event.getX(p);
+            eventYs[p] = event.getY(p);
+        }
+        if (historySize == 0) {
+            addEvent(event.getActionMasked(), event.getActionIndex(), event.getEventTime(), pointerCount, ids, eventXs, eventYs);
+        } else {
+            addBatch(event.getEventTime(), eventXs, eventYs);
+        }
+    }
+
+    /**
+     * Adds a synthetic event with a single sample.
+     *
+     * @param maskedAction The masked action, e.g. {@link MotionEvent#ACTION_POINTER_DOWN}.
+     * @param actionIndex  The index of the pointer the action refers to.
+     * @param eventTime    The event time in ms.
+     * @param pointerCount The number of pointers.
+     * @param ids          The pointer ids.
+     * @param x            The pointer x-coordinates.
+     * @param y            The pointer y-coordinates.
+     */
+    public void addEvent(int maskedAction, int actionIndex, long eventTime, int pointerCount, int[] ids, float[] x, float[] y) {
+        if (firstEventTime < 0) {
+            firstEventTime = eventTime;
+        }
+        ensureEventCapacity(eventCount + 1);
+        ensurePointerCapacity(pointerIdCount + pointerCount);
+
+        actions[eventCount] = maskedAction;
+        actionIndices[eventCount] = actionIndex;
+        pointerCounts[eventCount] = pointerCount;
+        pointerOffsets[eventCount] = pointerIdCount;
+        sampleCounts[eventCount] = 0;
+        sampleOffsets[eventCount] = sampleCount;
+        coordOffsets[eventCount] = coordCount;
+        for (int p = 0; p < pointerCount; p++) {
+            pointerIds[pointerIdCount++] = ids[p];
+        }
+        eventCount++;
+        addBatch(eventTime, x, y);
+    }
+
+    /**
+     * Adds a sample to the last event, like {@link MotionEvent#addBatch(long, MotionEvent.PointerCoords[], int)}
+     * the previous current sample becomes a historical one.
+     *
+     * @param eventTime The sample time in ms.
+     * @param x         The x-coordinates of the pointers of the last event.
+     * @param y         The y-coordinates of the pointers of the last event.
+     */
+    public void addBatch(long eventTime, float[] x, float[] y) {
+        if (eventCount == 0) {
+            throw new IllegalStateException("No event to add a sample to");
+        }
+        final int event = eventCount - 1;
+        final int pointerCount = pointerCounts[event];
+        ensureSampleCapacity(sampleCount + 1, coordCount + pointerCount);
+
+        sampleTimes[sampleCount++] = (int) (eventTime - firstEventTime);
+        for (int p = 0; p < pointerCount; p++) {
+            xs[coordCount] = x[p];
+            ys[coordCount] = y[p];
+            coordCount++;
+        }
+        sampleCounts[event]++;
+    }
+
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    public int getActionMasked(int event) {
+        return actions[event];
+    }
+
+    public int getActionIndex(int event) {
+        return actionIndices[event];
+    }
+
+    /**
+     * Returns the full action including the pointer index, as reported by {@link MotionEvent#getAction()}.
+     *
+     * @param event The event index.
+     * @return The action.
+     */
+    public int getAction(int event) {
+        return actions[event] | (actionIndices[event] << Const.ACTION_POINTER_INDEX_SHIFT);
+    }
+
+    /**
+     * Returns the event time relative to the first event.
+     *
+     * @param event The event index.
+     * @return The time in ms.
+     */
+    public long getEventTime(int event) {
+        return getHistoricalEventTime(event, getHistorySize(event));
+    }
+
+    public int getPointerCount(int event) {
+        return pointerCounts[event];
+    }
+
+    public int getPointerId(int event, int pointer) {
+        return pointerIds[pointerOffsets[event] + pointer];
+    }
+
+    public float getX(int event, int pointer) {
+        return getHistoricalX(event, pointer, getHistorySize(event));
+    }
+
+    public float getY(int event, int pointer) {
+        return getHistoricalY(event, pointer, getHistorySize(event));
+    }
+
+    /**
+     * Returns the number of batched historical samples of an event, as reported by
+     * {@link MotionEvent#getHistorySize()}.
+     *
+     * @param event The event index.
+     * @return The history size.
+     */
+    public int getHistorySize(int event) {
+        return sampleCounts[event] - 1;
+    }
+
+    /**
+     * Returns the time of a historical sample relative to the first event, a position equal to the history
+     * size returns the current event time.
+     *
+     * @param event The event index.
+     * @param pos   The sample position.
+     * @return The time in ms.
+     */
+    public long getHistoricalEventTime(int event, int pos) {
+        return sampleTimes[sampleOffsets[event] + pos];
+    }
+
+    public float getHistoricalX(int event, int pointer, int pos) {
+        return xs[coordOffsets[event] + pos * pointerCounts[event] + pointer];
+    }
+
+    public float getHistoricalY(int event, int pointer, int pos) {
+        return ys[coordOffsets[event] + pos * pointerCounts[event] + pointer];
+    }
+
+    public void writeTo(OutputStream outputStream) throws IOException {
+        DataOutputStream out = new DataOutputStream(outputStream);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeInt(eventCount);
+        for (int i = 0; i < eventCount; i++) {
+            out.writeByte(actions[i]);
+            out.writeByte(actionIndices[i]);
+            out.writeByte(pointerCounts[i]);
+            for (int p = 0; p < pointerCounts[i]; p++) {
+                out.writeByte(getPointerId(i, p));
+            }
+            out.writeShort(sampleCounts[i]);
+            for (int h = 0; h < sampleCounts[i]; h++) {
+                out.writeInt((int) getHistoricalEventTime(i, h));
+                for (int p = 0; p < pointerCounts[i]; p++) {
+                    out.writeFloat(getHistoricalX(i, p, h));
+                    out.writeFloat(getHistoricalY(i, p, h));
+                }
+            }
+        }
+        out.flush();
+    }
+
+    public static GestureRecording readFrom(InputStream inputStream) throws IOException {
+        DataInputStream in = new DataInputStream(inputStream);
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a gesture recording");
+        }
+        int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported gesture recording version " + version);
+        }
+
+        GestureRecording recording = new GestureRecording();
+        int count = in.readInt();
+        int[] ids = new int[Const.POINTER_ID_LIMIT];
+        float[] x = new float[Const.POINTER_ID_LIMIT];
+        float[] y = new float[Const.POINTER_ID_LIMIT];
+        for (int i = 0; i < count; i++) {
+            int action = in.readUnsignedByte();
+            int actionIndex = in.readUnsignedByte();
+            int pointerCount = in.readUnsignedByte();
+            if (pointerCount > Const.POINTER_ID_LIMIT) {
+                throw new IOException("Too many pointers " + pointerCount);
+            }
+            for (int p = 0; p < pointerCount; p++) {
+                ids[p] = in.readUnsignedByte();
+            }
+            int samples = in.readUnsignedShort();
+            if (samples == 0) {
+                throw new IOException("Event without samples");
+            }
+            for (int h = 0; h < samples; h++) {
+                int time = in.readInt();
+                for (int p = 0; p < pointerCount; p++) {
+                    x[p] = in.readFloat();
+                    y[p] = in.readFloat();
+                }
+                if (h == 0) {
+                    recording.addEvent(action, actionIndex, time, pointerCount, ids, x, y);
+                } else {
+                    recording.addBatch(time, x, y);
+                }
+            }
+        }
+        return recording;
+    }
+
+    private void ensureEventCapacity(int capacity) {
+        if (capacity <= actions.length) {
+            return;
+        }
+        int size = Math.max(capacity, actions.length * 2);
+        actions = Arrays.copyOf(actions, size);
+        actionIndices = Arrays.copyOf(actionIndices, size);
+        pointerCounts = Arrays.copyOf(pointerCounts, size);
+        pointerOffsets = Arrays.copyOf(pointerOffsets, size);
+        sampleCounts = Arrays.copyOf(sampleCounts, size);
+        sampleOffsets = Arrays.copyOf(sampleOffsets, size);
+        coordOffsets = Arrays.copyOf(coordOffsets, size);
+    }
+
+    private void ensurePointerCapacity(int capacity) {
+        if (capacity <= pointerIds.length) {
+            return;
+        }
+        pointerIds = Arrays.copyOf(pointerIds, Math.max(capacity, pointerIds.length * 2));
+    }
+
+    private void ensureSampleCapacity(int samples, int coords) {
+        if (samples > sampleTimes.length) {
+            sampleTimes = Arrays.copyOf(sampleTimes, Math.max(samples, sampleTimes.length * 2));
+        }
+        if (coords > xs.length) {
+            int size = Math.max(coords, xs.length * 2);
+            xs = Arrays.copyOf(xs, size);
+            ys = Arrays.copyOf(ys, size);
+        }
+    }
+}
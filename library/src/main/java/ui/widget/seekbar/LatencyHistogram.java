@@ -0,0 +1,87 @@
+package ui.widget.seekbar;
+
+/**
+ * Preallocated latency histogram with power-of-two microsecond buckets. Recording never allocates.
+ */
+public final class LatencyHistogram {
+
+    private static final int BUCKET_COUNT = 24;
+
+    private final long[] buckets = new long[BUCKET_COUNT];
+    private long count;
+    private long totalNanos;
+    private long maxNanos;
+
+    /**
+     * Records one latency sample.
+     *
+     * @param nanos The latency in nanoseconds, negative values are recorded as 0.
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        long micros = nanos / 1000L;
+        int bucket = micros == 0 ? 0 : 64 - Long.numberOfLeadingZeros(micros);
+        buckets[Math.min(bucket, BUCKET_COUNT - 1)]++;
+        count++;
+        totalNanos += nanos;
+        maxNanos = Math.max(maxNanos, nanos);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    public long getMeanNanos() {
+        return count == 0 ? 0 : totalNanos / count;
+    }
+
+    /**
+     * Returns an upper bound of the given percentile, the bucket resolution is a power of two.
+     *
+     * @param percentile The percentile in [0, 100].
+     * @return The upper bound of the bucket holding the percentile in nanoseconds, 0 if empty.
+     */
+    public long getPercentileNanos(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long threshold = (long) Math.ceil(count * Math.min(100d, Math.max(0d, percentile)) / 100d);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += buckets[i];
+            if (seen >= threshold && seen > 0) {
+                return Math.min(maxNanos, (1L << i) * 1000L);
+            }
+        }
+        return maxNanos;
+    }
+
+    public int getBucketCount() {
+        return BUCKET_COUNT;
+    }
+
+    /**
+     * Returns the number of samples in a bucket, bucket {@code i} holds latencies below {@code 2^i} microseconds.
+     *
+     * @param bucket The bucket index.
+     * @return The sample count.
+     */
+    public long getBucket(int bucket) {
+        return buckets[bucket];
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets[i] = 0;
+        }
+        count = 0;
+        totalNanos = 0;
+        maxNanos = 0;
+    }
+}
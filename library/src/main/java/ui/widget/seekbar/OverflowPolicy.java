@@ -0,0 +1,11 @@
+package ui.widget.seekbar;
+
+/**
+ * What a {@link ValueStream} does when its consumer falls behind and the ring buffer is full.
+ * <ul>
+ * <li>{@link #DROP_OLDEST} overwrites the oldest pending sample, the consumer sees every newer sample.</li>
+ * <li>{@link #KEEP_LATEST} also overwrites, the consumer skips the backlog and only sees the newest sample.</li>
+ * <li>{@link #BLOCK} makes the publishing (UI) thread wait until the consumer made room.</li>
+ * </ul>
+ */
+public enum OverflowPolicy {DROP_OLDEST, KEEP_LATEST, BLOCK}
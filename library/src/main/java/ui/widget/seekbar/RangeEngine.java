@@ -0,0 +1,86 @@
+package ui.widget.seekbar;
+
+/**
+ * Framework free range math mapping normalized thumb positions [0, 1] directly to signed user values and
+ * back, in double precision. The center 0.5 maps to 0, the left end to {@code -|fromValue|} and the right
+ * end to {@code |toValue|}, both sides are scaled independently so asymmetric ranges keep their center.
+ * Endpoints and the center map exactly, the magnitude in between follows the {@link ResponseCurve}.
+ */
+public final class RangeEngine {
+
+    public static final double CENTER = 0.5d;
+
+    private double fromMagnitude;
+    private double toMagnitude;
+    private ResponseCurve curve = ResponseCurve.LINEAR;
+
+    /**
+     * @param fromValue The value reported at the left end of the track, only its magnitude is used.
+     * @param toValue   The value reported at the right end of the track, only its magnitude is used.
+     */
+    public RangeEngine(double fromValue, double toValue) {
+        setRange(fromValue, toValue);
+    }
+
+    /**
+     * Sets the user value range of both sides of the center.
+     *
+     * @param fromValue The value reported at the left end of the track, only its magnitude is used.
+     * @param toValue   The value reported at the right end of the track, only its magnitude is used.
+     */
+    public void setRange(double fromValue, double toValue) {
+        this.fromMagnitude = Math.abs(fromValue);
+        this.toMagnitude = Math.abs(toValue);
+    }
+
+    /**
+     * Sets how the thumb distance from the center maps to the value magnitude.
+     *
+     * @param curve The response curve, {@link ResponseCurve#LINEAR} by default.
+     */
+    public void setResponseCurve(ResponseCurve curve) {
+        this.curve = curve;
+    }
+
+    public double getFromMagnitude() {
+        return fromMagnitude;
+    }
+
+    public double getToMagnitude() {
+        return toMagnitude;
+    }
+
+    public ResponseCurve getResponseCurve() {
+        return curve;
+    }
+
+    /**
+     * Converts a normalized value into a signed user value, negative on the "from" side of the center.
+     *
+     * @param normalized The normalized value to convert, clamped to [0, 1].
+     * @return The signed user value.
+     */
+    public double normalizedToValue(double normalized) {
+        if (normalized >= CENTER) {
+            // exact for normalized in [0.5, 1].
+            return toMagnitude * curve.apply(2d * normalized - 1d);
+        }
+        return -fromMagnitude * curve.apply(1d - 2d * normalized);
+    }
+
+    /**
+     * Converts a signed user value into a normalized value, the inverse of {@link #normalizedToValue(double)}.
+     *
+     * @param value The signed user value, negative on the "from" side of the center.
+     * @return The normalized value, clamped to [0, 1].
+     */
+    public double valueToNormalized(double value) {
+        if (value > 0d) {
+            return toMagnitude == 0d ? CENTER : CENTER + CENTER * curve.invert(value / toMagnitude);
+        }
+        if (value < 0d) {
+            return fromMagnitude == 0d ? CENTER : CENTER - CENTER * curve.invert(-value / fromMagnitude);
+        }
+        return CENTER;
+    }
+}
@@ -0,0 +1,109 @@
+package ui.widget.seekbar;
+
+/**
+ * How the distance of the thumb from the center maps to the magnitude of the value, applied to both sides
+ * of the center.
+ * <ul>
+ * <li>{@link #LINEAR} maps proportionally.</li>
+ * <li>{@link #EXPONENTIAL} gives fine control near the center and grows quickly towards the ends.</li>
+ * <li>{@link #LOGARITHMIC} grows quickly near the center and gives fine control towards the ends, it is
+ * the inverse of {@link #EXPONENTIAL}.</li>
+ * </ul>
+ * Non-linear curves are sampled once into a lookup table and interpolated linearly, both ends map exactly.
+ */
+public enum ResponseCurve {
+    LINEAR(0), LOGARITHMIC(-1), EXPONENTIAL(1);
+
+    private final double[] table;
+
+    /**
+     * @param shape 0 for linear, negative for logarithmic, positive for exponential.
+     */
+    ResponseCurve(int shape) {
+        if (shape == 0) {
+            table = null;
+            return;
+        }
+        final int size = Const.RESPONSE_CURVE_TABLE_SIZE;
+        final double k = Math.log(Const.RESPONSE_CURVE_RATIO);
+        table = new double[size + 1];
+        for (int i = 1; i < size; i++) {
+            final double t = (double) i / size;
+            table[i] = shape < 0
+                    ? Math.log1p((Const.RESPONSE_CURVE_RATIO - 1d) * t) / k
+                    : Math.expm1(k * t) / (Const.RESPONSE_CURVE_RATIO - 1d);
+        }
+        table[0] = 0d;
+        table[size] = 1d;
+    }
+
+    /**
+     * Maps a value of the {@code responseCurve} attribute to its curve, the values are declared in attrs.xml
+     * and do not depend on the declaration order of the constants.
+     *
+     * @param attributeValue The attribute value.
+     * @return The curve, {@link #LINEAR} for unknown values.
+     */
+    static ResponseCurve fromAttributeValue(int attributeValue) {
+        switch (attributeValue) {
+            case Const.RESPONSE_CURVE_LOGARITHMIC:
+                return LOGARITHMIC;
+            case Const.RESPONSE_CURVE_EXPONENTIAL:
+                return EXPONENTIAL;
+            default:
+                return LINEAR;
+        }
+    }
+
+    /**
+     * Maps a distance from the center to a value magnitude.
+     *
+     * @param t The distance from the center, between 0 and 1.
+     * @return The value magnitude, between 0 and 1.
+     */
+    public double apply(double t) {
+        if (t <= 0d) {
+            return 0d;
+        }
+        if (t >= 1d) {
+            return 1d;
+        }
+        if (table == null) {
+            return t;
+        }
+        final double x = t * Const.RESPONSE_CURVE_TABLE_SIZE;
+        final int i = (int) x;
+        return table[i] + (table[i + 1] - table[i]) * (x - i);
+    }
+
+    /**
+     * Maps a value magnitude back to a distance from the center, the exact inverse of {@link #apply(double)}.
+     *
+     * @param y The value magnitude, between 0 and 1.
+     * @return The distance from the center, between 0 and 1.
+     */
+    public double invert(double y) {
+        if (y <= 0d) {
+            return 0d;
+        }
+        if (y >= 1d) {
+            return 1d;
+        }
+        if (table == null) {
+            return y;
+        }
+        // largest i with table[i] <= y, the table is strictly increasing.
+        int low = 0;
+        int high = Const.RESPONSE_CURVE_TABLE_SIZE - 1;
+        while (low < high) {
+            final int mid = (low + high + 1) >>> 1;
+            if (table[mid] <= y) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        final double fraction = (y - table[low]) / (table[low + 1] - table[low]);
+        return (low + fraction) / Const.RESPONSE_CURVE_TABLE_SIZE;
+    }
+}
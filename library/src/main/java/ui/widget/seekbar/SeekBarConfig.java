@@ -0,0 +1,269 @@
+package ui.widget.seekbar;
+
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.graphics.Bitmap;
+import android.graphics.drawable.Drawable;
+
+/**
+ * Immutable styling and range configuration of a {@link CenterThumbSeekBar}. Instances are meant to be
+ * shared, e.g. by all rows of a list, and applied to recycled views with
+ * {@link CenterThumbSeekBar#bind(SeekBarConfig, double)}.
+ */
+public final class SeekBarConfig {
+
+    private final double fromValue;
+    private final double toValue;
+    private final ResponseCurve responseCurve;
+    private final int trackColor;
+    private final int trackProgressColor;
+    private final int thumbColor;
+    private final int thumbPressColor;
+    private final boolean hasRoundedCorners;
+    private final float trackHeight;
+    private final float thumbRadius;
+    private final float thumbPressedRadius;
+    private final ThumbImage thumbImage;
+    private final ThumbImage thumbPressedImage;
+
+    private SeekBarConfig(Builder builder) {
+        this.fromValue = builder.fromValue;
+        this.toValue = builder.toValue;
+        this.responseCurve = builder.responseCurve;
+        this.trackColor = builder.trackColor;
+        this.trackProgressColor = builder.trackProgressColor;
+        this.thumbColor = builder.thumbColor;
+        this.thumbPressColor = builder.thumbPressColor;
+        this.hasRoundedCorners = builder.hasRoundedCorners;
+        this.trackHeight = builder.trackHeight;
+        this.thumbRadius = builder.thumbRadius;
+        this.thumbPressedRadius = builder.thumbPressedRadius;
+        this.thumbImage = builder.thumbImage;
+        this.thumbPressedImage = builder.thumbPressedImage;
+    }
+
+    /**
+     * Creates a builder from the {@code CenterThumbSeekBar} styleable attributes, thumb drawables are
+     * turned into {@link ThumbImage}s by drawable type, or into tinted masks if declared single color.
+     *
+     * @param context The context the attributes were obtained with.
+     * @param a       The obtained {@code R.styleable.CenterThumbSeekBar} attributes.
+     * @param style   The style providing the defaults.
+     * @return A builder holding the attribute values.
+     */
+    static Builder fromAttributes(Context context, TypedArray a, SeekBarStyle style) {
+        Builder builder = new Builder(style)
+                .setFromValue(a.getFloat(R.styleable.CenterThumbSeekBar_fromValue, Const.DEFAULT_MIN_VALUE))
+                .setToValue(a.getFloat(R.styleable.CenterThumbSeekBar_toValue, Const.DEFAULT_MAX_VALUE))
+                .setResponseCurve(ResponseCurve.fromAttributeValue(a.getInt(R.styleable.CenterThumbSeekBar_responseCurve, Const.RESPONSE_CURVE_LINEAR)))
+                .setThumbColor(a.getColor(R.styleable.CenterThumbSeekBar_thumbColor, style.getThumbColor()))
+                .setThumbPressColor(a.getColor(R.styleable.CenterThumbSeekBar_thumbPressedColor, style.getThumbColor()))
+                .setTrackProgressColor(a.getColor(R.styleable.CenterThumbSeekBar_trackProgressColor, style.getTrackProgressColor()))
+                .setTrackColor(a.getColor(R.styleable.CenterThumbSeekBar_trackColor, style.getTrackColor()))
+                .setRoundedCorners(a.getBoolean(R.styleable.CenterThumbSeekBar_trackRoundedCorners, false))
+                .setTrackHeight(a.getDimension(R.styleable.CenterThumbSeekBar_trackHeight, style.getTrackHeight()))
+                .setThumbRadius(a.getDimension(R.styleable.CenterThumbSeekBar_thumbRadius, style.getThumbRadius()))
+                .setThumbPressedRadius(a.getDimension(R.styleable.CenterThumbSeekBar_thumbPressedRadius, style.getThumbPressedRadius()));
+
+        Drawable thumbImageDrawable = a.getDrawable(R.styleable.CenterThumbSeekBar_thumbDrawable);
+        Drawable thumbImagePressedDrawable = a.getDrawable(R.styleable.CenterThumbSeekBar_thumbPressedDrawable);
+
+        if (thumbImageDrawable != null && thumbImagePressedDrawable != null) {
+            boolean tinted = a.getBoolean(R.styleable.CenterThumbSeekBar_thumbDrawableTinted, false);
+            builder.setThumbImages(
+                    ThumbImage.fromDrawable(context, a.getResourceId(R.styleable.CenterThumbSeekBar_thumbDrawable, 0), thumbImageDrawable, tinted),
+                    ThumbImage.fromDrawable(context, a.getResourceId(R.styleable.CenterThumbSeekBar_thumbPressedDrawable, 0), thumbImagePressedDrawable, tinted));
+        }
+        return builder;
+    }
+
+    public double getFromValue() {
+        return fromValue;
+    }
+
+    public double getToValue() {
+        return toValue;
+    }
+
+    public ResponseCurve getResponseCurve() {
+        return responseCurve;
+    }
+
+    public int getTrackColor() {
+        return trackColor;
+    }
+
+    public int getTrackProgressColor() {
+        return trackProgressColor;
+    }
+
+    public int getThumbColor() {
+        return thumbColor;
+    }
+
+    public int getThumbPressColor() {
+        return thumbPressColor;
+    }
+
+    public boolean hasRoundedCorners() {
+        return hasRoundedCorners;
+    }
+
+    public float getTrackHeight() {
+        return trackHeight;
+    }
+
+    public float getThumbRadius() {
+        return thumbRadius;
+    }
+
+    public float getThumbPressedRadius() {
+        return thumbPressedRadius;
+    }
+
+    public ThumbImage getThumbImage() {
+        return thumbImage;
+    }
+
+    public ThumbImage getThumbPressedImage() {
+        return thumbPressedImage;
+    }
+
+    public static class Builder {
+        private double fromValue = Const.DEFAULT_MIN_VALUE;
+        private double toValue = Const.DEFAULT_MAX_VALUE;
+        private ResponseCurve responseCurve = ResponseCurve.LINEAR;
+        private int trackColor;
+        private int trackProgressColor;
+        private int thumbColor;
+        private int thumbPressColor;
+        private boolean hasRoundedCorners = false;
+        private float trackHeight;
+        private float thumbRadius;
+        private float thumbPressedRadius;
+        private ThumbImage thumbImage;
+        private ThumbImage thumbPressedImage;
+
+        public Builder(Context context) {
+            this(SeekBarStyle.get(context));
+        }
+
+        public Builder(SeekBarStyle style) {
+            this.trackColor = style.getTrackColor();
+            this.trackProgressColor = style.getTrackProgressColor();
+            this.thumbColor = style.getThumbColor();
+            this.thumbPressColor = style.getThumbColor();
+            this.trackHeight = style.getTrackHeight();
+            this.thumbRadius = style.getThumbRadius();
+            this.thumbPressedRadius = style.getThumbPressedRadius();
+        }
+
+        public Builder(SeekBarConfig config) {
+            this.fromValue = config.fromValue;
+            this.toValue = config.toValue;
+            this.responseCurve = config.responseCurve;
+            this.trackColor = config.trackColor;
+            this.trackProgressColor = config.trackProgressColor;
+            this.thumbColor = config.thumbColor;
+            this.thumbPressColor = config.thumbPressColor;
+            this.hasRoundedCorners = config.hasRoundedCorners;
+            this.trackHeight = config.trackHeight;
+            this.thumbRadius = config.thumbRadius;
+            this.thumbPressedRadius = config.thumbPressedRadius;
+            this.thumbImage = config.thumbImage;
+            this.thumbPressedImage = config.thumbPressedImage;
+        }
+
+        public Builder setFromValue(double fromValue) {
+            this.fromValue = fromValue;
+            return this;
+        }
+
+        public Builder setToValue(double toValue) {
+            this.toValue = toValue;
+            return this;
+        }
+
+        /**
+         * Sets how the thumb distance from the center maps to the value, see {@link ResponseCurve}.
+         *
+         * @param responseCurve The response curve, {@link ResponseCurve#LINEAR} by default.
+         * @return This builder.
+         */
+        public Builder setResponseCurve(ResponseCurve responseCurve) {
+            this.responseCurve = responseCurve;
+            return this;
+        }
+
+        public Builder setTrackColor(int trackColor) {
+            this.trackColor = trackColor;
+            return this;
+        }
+
+        public Builder setTrackProgressColor(int trackProgressColor) {
+            this.trackProgressColor = trackProgressColor;
+            return this;
+        }
+
+        public Builder setThumbColor(int thumbColor) {
+            this.thumbColor = thumbColor;
+            return this;
+        }
+
+        public Builder setThumbPressColor(int thumbPressColor) {
+            this.thumbPressColor = thumbPressColor;
+            return this;
+        }
+
+        public Builder setRoundedCorners(boolean hasRoundedCorners) {
+            this.hasRoundedCorners = hasRoundedCorners;
+            return this;
+        }
+
+        public Builder setTrackHeight(float trackHeight) {
+            this.trackHeight = trackHeight;
+            return this;
+        }
+
+        public Builder setThumbRadius(float thumbRadius) {
+            this.thumbRadius = thumbRadius;
+            return this;
+        }
+
+        public Builder setThumbPressedRadius(float thumbPressedRadius) {
+            this.thumbPressedRadius = thumbPressedRadius;
+            return this;
+        }
+
+        /**
+         * Sets the thumb images, both are required for images to be used. The thumb radii are then
+         * derived from the image sizes.
+         *
+         * @param thumbImage        The normal thumb image, typically from {@link ThumbBitmapCache}.
+         * @param thumbPressedImage The pressed thumb image.
+         * @return This builder.
+         */
+        public Builder setThumbImages(Bitmap thumbImage, Bitmap thumbPressedImage) {
+            return setThumbImages(thumbImage != null ? ThumbImage.fromBitmap(thumbImage) : null,
+                    thumbPressedImage != null ? ThumbImage.fromBitmap(thumbPressedImage) : null);
+        }
+
+        /**
+         * Sets the thumb images, both are required for images to be used. Tinted images are drawn in
+         * the thumb resp. thumb pressed color.
+         *
+         * @param thumbImage        The normal thumb image, see {@link ThumbImage#fromDrawable}.
+         * @param thumbPressedImage The pressed thumb image.
+         * @return This builder.
+         */
+        public Builder setThumbImages(ThumbImage thumbImage, ThumbImage thumbPressedImage) {
+            this.thumbImage = thumbImage;
+            this.thumbPressedImage = thumbPressedImage;
+            return this;
+        }
+
+        public SeekBarConfig build() {
+            return new SeekBarConfig(this);
+        }
+    }
+}
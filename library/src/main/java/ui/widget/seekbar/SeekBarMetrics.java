@@ -0,0 +1,108 @@
+package ui.widget.seekbar;
+
+/**
+ * Opt-in performance counters of a {@link CenterThumbSeekBar}, attached with
+ * {@link CenterThumbSeekBar#setMetrics(SeekBarMetrics)}. All storage is preallocated, recording never
+ * allocates. Views without metrics only pay a null check.
+ * <p>
+ * Latencies are measured from the {@code MotionEvent} event time, which shares the monotonic clock with
+ * {@link System#nanoTime()}, to the listener callback resp. the next draw.
+ */
+public final class SeekBarMetrics {
+
+    private final MetricsSink sink;
+    private final LatencyHistogram touchToDispatch = new LatencyHistogram();
+    private final LatencyHistogram touchToDraw = new LatencyHistogram();
+    private long drawCount;
+    private long invalidateCount;
+    private long touchEventCount;
+    private long dispatchCount;
+    private long lastTouchNanos;
+    private boolean isDispatchPending;
+    private boolean isDrawPending;
+
+    public SeekBarMetrics(MetricsSink sink) {
+        this.sink = sink;
+    }
+
+    void onTouchEvent(long eventTimeMillis) {
+        touchEventCount++;
+        lastTouchNanos = eventTimeMillis * 1000000L;
+        isDispatchPending = true;
+        isDrawPending = true;
+    }
+
+    void onDispatch() {
+        dispatchCount++;
+        if (isDispatchPending) {
+            isDispatchPending = false;
+            touchToDispatch.record(System.nanoTime() - lastTouchNanos);
+        }
+    }
+
+    void onDraw() {
+        drawCount++;
+        if (isDrawPending) {
+            isDrawPending = false;
+            touchToDraw.record(System.nanoTime() - lastTouchNanos);
+        }
+    }
+
+    void onInvalidate() {
+        invalidateCount++;
+    }
+
+    public long getDrawCount() {
+        return drawCount;
+    }
+
+    public long getInvalidateCount() {
+        return invalidateCount;
+    }
+
+    public long getTouchEventCount() {
+        return touchEventCount;
+    }
+
+    public long getDispatchCount() {
+        return dispatchCount;
+    }
+
+    public LatencyHistogram getTouchToDispatchLatency() {
+        return touchToDispatch;
+    }
+
+    public LatencyHistogram getTouchToDrawLatency() {
+        return touchToDraw;
+    }
+
+    /**
+     * Hands the current values to the sink, typically called when sampling in the field.
+     *
+     * @param reset true to start a new sampling window afterwards.
+     */
+    public void report(boolean reset) {
+        sink.onReport(this);
+        if (reset) {
+            reset();
+        }
+    }
+
+    public void reset() {
+        drawCount = 0;
+        invalidateCount = 0;
+        touchEventCount = 0;
+        dispatchCount = 0;
+        isDispatchPending = false;
+        isDrawPending = false;
+        touchToDispatch.reset();
+        touchToDraw.reset();
+    }
+
+    /**
+     * Receives metric reports, must not keep a reference to the metrics beyond the call.
+     */
+    public interface MetricsSink {
+        void onReport(SeekBarMetrics metrics);
+    }
+}
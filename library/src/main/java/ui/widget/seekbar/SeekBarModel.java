@@ -0,0 +1,167 @@
+package ui.widget.seekbar;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Shared values of several {@link CenterThumbSeekBar}s, one signed value per slot with the same scaling
+ * as {@link CenterThumbSeekBar#setValue(double)}: each bound view maps and clamps the value into its own
+ * fromValue/toValue range. Several views may be bound to the same slot.
+ * <p>
+ * Updates made between {@link #beginBatch()} and {@link #commit()} are applied together: bound views see
+ * only the final values and update once, listeners receive one change set. Must be used on the UI thread.
+ */
+public final class SeekBarModel {
+
+    private final double[] values;
+    private final boolean[] changed;
+    private final int[] changedSlots;
+    private final int[] dispatchSlots;
+    private int changedCount;
+    private int batchDepth;
+    private boolean isDispatching;
+    private Observer[] observers = new Observer[4];
+    private int[] observerSlots = new int[4];
+    private int observerCount;
+    private final List<OnModelChangeListener> listeners = new ArrayList<>();
+
+    /**
+     * Creates a model with all values at the center.
+     *
+     * @param size The number of slots.
+     */
+    public SeekBarModel(int size) {
+        values = new double[size];
+        changed = new boolean[size];
+        changedSlots = new int[size];
+        dispatchSlots = new int[size];
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    public double getValue(int slot) {
+        return values[slot];
+    }
+
+    /**
+     * Sets the value of a slot. Outside of a batch the change is committed right away.
+     *
+     * @param slot  The slot index.
+     * @param value The signed value, negative on the "from" side of the center.
+     */
+    public void setValue(int slot, double value) {
+        beginBatch();
+        if (values[slot] != value) {
+            values[slot] = value;
+            if (!changed[slot]) {
+                changed[slot] = true;
+                changedSlots[changedCount++] = slot;
+            }
+        }
+        commit();
+    }
+
+    /**
+     * Starts a transaction, batches may be nested and only the outermost {@link #commit()} applies them.
+     */
+    public void beginBatch() {
+        batchDepth++;
+    }
+
+    /**
+     * Ends a transaction. When the outermost transaction ends, every bound view of a changed slot updates
+     * once and the listeners receive the set of changed slots. Changes made by listeners are delivered as a
+     * following change set.
+     */
+    public void commit() {
+        if (batchDepth == 0) {
+            throw new IllegalStateException("commit without beginBatch");
+        }
+        if (--batchDepth > 0 || isDispatching) {
+            return;
+        }
+        isDispatching = true;
+        try {
+            while (changedCount > 0) {
+                final int count = changedCount;
+                System.arraycopy(changedSlots, 0, dispatchSlots, 0, count);
+                for (int i = 0; i < count; i++) {
+                    changed[dispatchSlots[i]] = false;
+                }
+                changedCount = 0;
+                dispatch(dispatchSlots, count);
+            }
+        } finally {
+            isDispatching = false;
+        }
+    }
+
+    private void dispatch(int[] slots, int count) {
+        for (int o = 0; o < observerCount; o++) {
+            // a view is notified only once even if it changed more than once during the batch.
+            if (containsSlot(slots, count, observerSlots[o])) {
+                observers[o].onModelValueChanged(this, observerSlots[o]);
+            }
+        }
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onModelChange(this, slots, count);
+        }
+    }
+
+    private static boolean containsSlot(int[] slots, int count, int slot) {
+        for (int i = 0; i < count; i++) {
+            if (slots[i] == slot) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void addOnModelChangeListener(OnModelChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeOnModelChangeListener(OnModelChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    void addObserver(Observer observer, int slot) {
+        if (observerCount == observers.length) {
+            observers = Arrays.copyOf(observers, observerCount * 2);
+            observerSlots = Arrays.copyOf(observerSlots, observerCount * 2);
+        }
+        observers[observerCount] = observer;
+        observerSlots[observerCount] = slot;
+        observerCount++;
+    }
+
+    void removeObserver(Observer observer) {
+        for (int o = 0; o < observerCount; o++) {
+            if (observers[o] == observer) {
+                observerCount--;
+                System.arraycopy(observers, o + 1, observers, o, observerCount - o);
+                System.arraycopy(observerSlots, o + 1, observerSlots, o, observerCount - o);
+                observers[observerCount] = null;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Bound view of a slot, notified once per committed change set that contains the slot.
+     */
+    interface Observer {
+        void onModelValueChanged(SeekBarModel model, int slot);
+    }
+
+    /**
+     * Callback listener interface to receive the committed change sets. The slot array is reused between
+     * calls, only the first {@code count} entries are valid and only for the duration of the call.
+     */
+    public interface OnModelChangeListener {
+        void onModelChange(SeekBarModel model, int[] slots, int count);
+    }
+}
@@ -0,0 +1,338 @@
+package ui.widget.seekbar;
+
+import android.graphics.Canvas;
+import android.graphics.LinearGradient;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Picture;
+import android.graphics.RectF;
+import android.graphics.Shader;
+
+/**
+ * Draws the track, progress, ticks, thumb and value label of a center thumb seek bar from precomputed
+ * geometry. Shared by {@link CenterThumbSeekBar}, {@link CenterThumbSeekBarSurfaceView} and the channels of
+ * {@link CenterThumbSeekBarGroup} so all of them look the same. Not thread safe, drawing never allocates.
+ * <p>
+ * The static track and tick marks are recorded once into a {@link Picture} and replayed every frame, they
+ * are only recorded again after the track geometry, the ticks or the style changed.
+ */
+final class SeekBarRenderer {
+
+    private final Paint trackPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint trackProgressPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint thumbPaint = new Paint(Paint.ANTI_ALIAS_FLAG | Paint.FILTER_BITMAP_FLAG);
+    private final Paint thumbPressedPaint = new Paint(Paint.ANTI_ALIAS_FLAG | Paint.FILTER_BITMAP_FLAG);
+    private final Paint thumbImagePaint = new Paint(Paint.ANTI_ALIAS_FLAG | Paint.FILTER_BITMAP_FLAG);
+    private final Paint gradientTrackPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint tickPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint labelPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Matrix gradientTrackMatrix = new Matrix();
+    private final RectF trackRect = new RectF();
+    private final RectF trackProgressRect = new RectF();
+    private final Picture staticLayer = new Picture();
+    private boolean isStaticLayerDirty = true;
+    private int staticLayerRecordCount;
+    private int trackColor;
+    private int trackProgressColor;
+    private boolean hasRoundedCorners;
+    private float trackHeight;
+    private ThumbImage thumbImage;
+    private ThumbImage thumbPressedImage;
+    private float thumbRadius;
+    private float thumbPressedRadius;
+    private boolean isGradientTrackEnabled;
+    private float[] tickLines;
+    private float centerX;
+    private float thumbX;
+    private float thumbY;
+
+    SeekBarRenderer() {
+        labelPaint.setTextAlign(Paint.Align.CENTER);
+    }
+
+    /**
+     * Applies the colors and dimensions of the given configuration. Thumb images, if both are set, define
+     * the thumb radii.
+     *
+     * @param config The configuration to draw with.
+     */
+    void applyConfig(SeekBarConfig config) {
+        this.trackColor = config.getTrackColor();
+        this.trackProgressColor = config.getTrackProgressColor();
+        this.hasRoundedCorners = config.hasRoundedCorners();
+        this.trackHeight = config.getTrackHeight();
+        this.thumbRadius = getThumbRadius(config);
+        this.thumbPressedRadius = getThumbPressedRadius(config);
+        this.thumbImage = null;
+        this.thumbPressedImage = null;
+        if (hasThumbImages(config)) {
+            this.thumbImage = config.getThumbImage().newUserInstance();
+            this.thumbPressedImage = config.getThumbPressedImage().newUserInstance();
+        }
+
+        trackPaint.setColor(trackColor);
+        trackProgressPaint.setColor(trackProgressColor);
+        thumbPaint.setColor(config.getThumbColor());
+        thumbPressedPaint.setColor(config.getThumbPressColor());
+        tickPaint.setColor(trackProgressColor);
+        tickPaint.setStrokeWidth(Math.max(1f, trackHeight / 2f));
+        if (gradientTrackPaint.getShader() != null) {
+            gradientTrackPaint.setShader(null);
+            updateGradientShader();
+        }
+        isStaticLayerDirty = true;
+    }
+
+    private static boolean hasThumbImages(SeekBarConfig config) {
+        return config.getThumbImage() != null && config.getThumbPressedImage() != null;
+    }
+
+    /**
+     * Returns the radius the normal thumb of the given configuration is hit tested and drawn with.
+     *
+     * @param config The configuration.
+     * @return The radius, derived from the image size if the configuration has thumb images.
+     */
+    static float getThumbRadius(SeekBarConfig config) {
+        if (hasThumbImages(config)) {
+            //thumb drawable
+            return Math.max(config.getThumbImage().getWidth(), config.getThumbImage().getHeight());
+        }
+        return config.getThumbRadius();
+    }
+
+    static float getThumbPressedRadius(SeekBarConfig config) {
+        if (hasThumbImages(config)) {
+            return Math.max(config.getThumbPressedImage().getWidth(), config.getThumbPressedImage().getHeight());
+        }
+        return config.getThumbPressedRadius();
+    }
+
+    /**
+     * Returns the height needed by the pressed or normal thumb of the given configuration, whichever is
+     * larger.
+     *
+     * @param config The configuration.
+     * @return The height in pixels.
+     */
+    static float getThumbHeight(SeekBarConfig config) {
+        if (hasThumbImages(config)) {
+            return Math.max(getThumbRadius(config), getThumbPressedRadius(config));
+        }
+        return Math.max(config.getThumbRadius() * 2, config.getThumbPressedRadius() * 2);
+    }
+
+    float getThumbRadius() {
+        return thumbRadius;
+    }
+
+    float getThumbPressedRadius() {
+        return thumbPressedRadius;
+    }
+
+    float getTrackHeight() {
+        return trackHeight;
+    }
+
+    void setTickColor(int color) {
+        tickPaint.setColor(color);
+        isStaticLayerDirty = true;
+    }
+
+    Paint getLabelPaint() {
+        return labelPaint;
+    }
+
+    RectF getTrackRect() {
+        return trackRect;
+    }
+
+    /**
+     * Enables drawing the track and the progress segment with a single draw call, see
+     * {@link CenterThumbSeekBar#setGradientTrackEnabled(boolean)}.
+     *
+     * @param enabled true to draw track and progress in one pass.
+     */
+    void setGradientTrackEnabled(boolean enabled) {
+        this.isGradientTrackEnabled = enabled;
+        updateGradientShader();
+    }
+
+    private void updateGradientShader() {
+        if (isGradientTrackEnabled && gradientTrackPaint.getShader() == null) {
+            // unit gradient, the middle third [1, 2] is mapped onto the progress segment.
+            gradientTrackPaint.setShader(new LinearGradient(0f, 0f, 3f, 0f,
+                    new int[]{trackColor, trackColor, trackProgressColor, trackProgressColor, trackColor, trackColor},
+                    new float[]{0f, 1f / 3f, 1f / 3f, 2f / 3f, 2f / 3f, 1f},
+                    Shader.TileMode.CLAMP));
+            setThumbX(thumbX);
+        }
+    }
+
+    /**
+     * Sets the track geometry, must be called whenever the size of the drawing area changes.
+     *
+     * @param left    The x-coordinate of the track start.
+     * @param right   The x-coordinate of the track end.
+     * @param centerY The y-coordinate of the track and thumb center.
+     * @param centerX The x-coordinate of the value 0.
+     */
+    void setTrackGeometry(float left, float right, float centerY, float centerX) {
+        trackRect.set(left, centerY - 0.5f * trackHeight, right, centerY + 0.5f * trackHeight);
+        this.centerX = centerX;
+        this.thumbY = centerY;
+        isStaticLayerDirty = true;
+    }
+
+    /**
+     * Sets the tick mark lines, drawn with a single {@link Canvas#drawLines(float[], Paint)}.
+     *
+     * @param tickLines The lines, or null to draw no ticks.
+     */
+    void setTickLines(float[] tickLines) {
+        this.tickLines = tickLines;
+        isStaticLayerDirty = true;
+    }
+
+    /**
+     * Returns how often the static layer has been recorded, for tests.
+     *
+     * @return The number of recordings.
+     */
+    int getStaticLayerRecordCount() {
+        return staticLayerRecordCount;
+    }
+
+    /**
+     * Returns the image the normal thumb is drawn with, for tests.
+     *
+     * @return The thumb image, or null if the thumb is drawn as a circle.
+     */
+    ThumbImage getThumbImage() {
+        return thumbImage;
+    }
+
+    /**
+     * Moves the thumb and the progress segment, must be called whenever the thumb position changes.
+     *
+     * @param thumbX The x-coordinate of the thumb center.
+     */
+    void setThumbX(float thumbX) {
+        this.thumbX = thumbX;
+        trackProgressRect.top = trackRect.top;
+        trackProgressRect.bottom = trackRect.bottom;
+        trackProgressRect.left = Math.min(centerX, thumbX);
+        trackProgressRect.right = Math.max(centerX, thumbX);
+
+        if (isGradientTrackEnabled) {
+            float progressWidth = trackProgressRect.right - trackProgressRect.left;
+            gradientTrackMatrix.setScale(progressWidth, 1f);
+            gradientTrackMatrix.postTranslate(trackProgressRect.left - progressWidth, 0f);
+            gradientTrackPaint.getShader().setLocalMatrix(gradientTrackMatrix);
+        }
+    }
+
+    /**
+     * Draws track, progress, ticks and thumb.
+     *
+     * @param canvas  The canvas to draw upon.
+     * @param pressed Is the thumb currently in "pressed" state?
+     */
+    void draw(Canvas canvas, boolean pressed) {
+        if (isGradientTrackEnabled) {
+            drawGradientTrack(canvas);
+            drawTicks(canvas);
+            drawThumb(thumbX, pressed, canvas);
+            return;
+        }
+
+        // draw seek bar background line and ticks
+        if (isStaticLayerDirty) {
+            recordStaticLayer();
+        }
+        canvas.drawPicture(staticLayer);
+
+        // draw seek bar active range line
+        if (hasRoundedCorners) {
+            canvas.drawRoundRect(trackProgressRect, trackHeight, trackHeight, trackProgressPaint);
+        } else {
+            canvas.drawRect(trackProgressRect, trackProgressPaint);
+        }
+
+        drawThumb(thumbX, pressed, canvas);
+    }
+
+    /**
+     * Draws a value label centered on the given position.
+     *
+     * @param canvas   The canvas to draw upon.
+     * @param text     The label characters.
+     * @param length   The number of valid characters.
+     * @param x        The x-coordinate of the label center.
+     * @param baseline The y-coordinate of the label baseline.
+     */
+    void drawLabel(Canvas canvas, char[] text, int length, float x, float baseline) {
+        canvas.drawText(text, 0, length, x, baseline, labelPaint);
+    }
+
+    private void recordStaticLayer() {
+        // ticks reach one track height beyond the track on both sides.
+        final int width = (int) Math.ceil(Math.max(1f, trackRect.right + trackHeight + 1f));
+        final int height = (int) Math.ceil(Math.max(1f, trackRect.bottom + trackHeight + 1f));
+        final Canvas canvas = staticLayer.beginRecording(width, height);
+        if (hasRoundedCorners) {
+            canvas.drawRoundRect(trackRect, trackHeight, trackHeight, trackPaint);
+        } else {
+            canvas.drawRect(trackRect, trackPaint);
+        }
+        drawTicks(canvas);
+        staticLayer.endRecording();
+        isStaticLayerDirty = false;
+        staticLayerRecordCount++;
+    }
+
+    private void drawTicks(Canvas canvas) {
+        if (tickLines != null) {
+            canvas.drawLines(tickLines, tickPaint);
+        }
+    }
+
+    /**
+     * Draws the track including the progress segment with one draw call.
+     *
+     * @param canvas The canvas to draw upon.
+     */
+    private void drawGradientTrack(Canvas canvas) {
+        // a degenerated segment would make the shader matrix singular, there is no progress to show anyway.
+        final Paint paint = trackProgressRect.right - trackProgressRect.left < 0.5f ? trackPaint : gradientTrackPaint;
+        if (hasRoundedCorners) {
+            canvas.drawRoundRect(trackRect, trackHeight, trackHeight, paint);
+        } else {
+            canvas.drawRect(trackRect, paint);
+        }
+    }
+
+    /**
+     * Draws the "normal" resp. "pressed" thumb image on specified x-coordinate.
+     *
+     * @param screenCoordinate The x-coordinate in screen space where to draw the image.
+     * @param pressed          Is the thumb currently in "pressed" state?
+     * @param canvas           The canvas to draw upon.
+     */
+    private void drawThumb(float screenCoordinate, boolean pressed, Canvas canvas) {
+        if (thumbImage != null && thumbPressedImage != null) {
+            // masks are tinted with the thumb colors, other images are drawn as is.
+            if (pressed) {
+                thumbPressedImage.draw(canvas, screenCoordinate, thumbY, thumbPressedImage.isTinted() ? thumbPressedPaint : thumbImagePaint);
+            } else {
+                thumbImage.draw(canvas, screenCoordinate, thumbY, thumbImage.isTinted() ? thumbPaint : thumbImagePaint);
+            }
+        } else {
+            if (pressed) {
+                canvas.drawCircle(screenCoordinate, thumbY, thumbPressedRadius, thumbPressedPaint);
+            } else {
+                canvas.drawCircle(screenCoordinate, thumbY, thumbRadius, thumbPaint);
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package ui.widget.seekbar;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.util.DisplayMetrics;
+
+import androidx.core.content.ContextCompat;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Default colors and dimensions of {@link CenterThumbSeekBar}, resolved once per theme and density and
+ * shared by all instances. Safe to use from asynchronous inflation threads.
+ */
+public final class SeekBarStyle {
+
+    private static final Map<Resources.Theme, SeekBarStyle> cache = new WeakHashMap<>();
+
+    private final int densityDpi;
+    private final int thumbColor;
+    private final int trackProgressColor;
+    private final int trackColor;
+    private final float width;
+    private final float trackHeight;
+    private final float thumbRadius;
+    private final float thumbPressedRadius;
+    private final float labelTextSize;
+    private final float labelSpacing;
+
+    private SeekBarStyle(Context context, DisplayMetrics metrics) {
+        this.densityDpi = metrics.densityDpi;
+        this.thumbColor = ContextCompat.getColor(context, R.color.colorAccent);
+        this.trackProgressColor = ContextCompat.getColor(context, R.color.colorAccent);
+        this.trackColor = ContextCompat.getColor(context, R.color.default_track_color);
+        this.width = Utils.dpToPx(Const.DEFAULT_WIDTH_DP, metrics.density);
+        this.trackHeight = Utils.dpToPx(Const.DEFAULT_TRACK_HEIGHT_DP, metrics.density);
+        this.thumbRadius = Utils.dpToPx(Const.DEFAULT_THUMB_RADIUS_DP, metrics.density);
+        this.thumbPressedRadius = Utils.dpToPx(Const.DEFAULT_THUMB_PRESSED_RADIUS_DP, metrics.density);
+        this.labelTextSize = Utils.spToPx(Const.DEFAULT_LABEL_TEXT_SIZE_SP, metrics.scaledDensity);
+        this.labelSpacing = Utils.dpToPx(Const.DEFAULT_LABEL_SPACING_DP, metrics.density);
+    }
+
+    /**
+     * Returns the style for the theme and density of the given context, resolving it on first use.
+     *
+     * @param context The context the view is created with.
+     * @return The shared style.
+     */
+    public static SeekBarStyle get(Context context) {
+        final Resources.Theme theme = context.getTheme();
+        final DisplayMetrics metrics = context.getResources().getDisplayMetrics();
+
+        SeekBarStyle style;
+        synchronized (cache) {
+            style = cache.get(theme);
+        }
+        if (style != null && style.densityDpi == metrics.densityDpi) {
+            return style;
+        }
+
+        // resolved outside the lock, concurrent callers may resolve twice but always agree on the result.
+        style = new SeekBarStyle(context, metrics);
+        synchronized (cache) {
+            cache.put(theme, style);
+        }
+        return style;
+    }
+
+    /**
+     * Drops all resolved styles, the next view created for a theme resolves it again.
+     */
+    public static void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    public int getThumbColor() {
+        return thumbColor;
+    }
+
+    public int getTrackProgressColor() {
+        return trackProgressColor;
+    }
+
+    public int getTrackColor() {
+        return trackColor;
+    }
+
+    public float getWidth() {
+        return width;
+    }
+
+    public float getTrackHeight() {
+        return trackHeight;
+    }
+
+    public float getThumbRadius() {
+        return thumbRadius;
+    }
+
+    public float getThumbPressedRadius() {
+        return thumbPressedRadius;
+    }
+
+    public float getLabelTextSize() {
+        return labelTextSize;
+    }
+
+    public float getLabelSpacing() {
+        return labelSpacing;
+    }
+}
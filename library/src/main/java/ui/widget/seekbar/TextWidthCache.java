@@ -0,0 +1,58 @@
+package ui.widget.seekbar;
+
+import java.util.Arrays;
+
+/**
+ * Bounded, direct mapped cache of measured label widths keyed by the fixed-point value the label was
+ * formatted from. A colliding entry simply replaces the previous one, lookups never allocate.
+ */
+public class TextWidthCache {
+
+    private final long[] keys;
+    private final float[] widths;
+    private final int mask;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param capacity The number of entries, rounded up to a power of two.
+     */
+    public TextWidthCache(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        keys = new long[size];
+        widths = new float[size];
+        mask = size - 1;
+        clear();
+    }
+
+    /**
+     * Returns the cached width for the given key.
+     *
+     * @param key The fixed-point value of the label.
+     * @return The width, or NaN if it is not cached.
+     */
+    public float get(long key) {
+        final int index = indexOf(key);
+        return keys[index] == key ? widths[index] : Float.NaN;
+    }
+
+    public void put(long key, float width) {
+        final int index = indexOf(key);
+        keys[index] = key;
+        widths[index] = width;
+    }
+
+    /**
+     * Drops all entries, must be called whenever the label format or text style changes.
+     */
+    public void clear() {
+        Arrays.fill(widths, Float.NaN);
+        Arrays.fill(keys, 0L);
+    }
+
+    private int indexOf(long key) {
+        // spread neighbouring values, labels of a drag differ in the lowest digits only.
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 40) & mask;
+    }
+}
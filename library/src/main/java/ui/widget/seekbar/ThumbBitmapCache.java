@@ -0,0 +1,119 @@
+package ui.widget.seekbar;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.graphics.Bitmap;
+import android.graphics.drawable.Drawable;
+import android.util.LruCache;
+
+/**
+ * Process wide LRU cache of rasterized thumb bitmaps and masks, shared by all {@link CenterThumbSeekBar}
+ * instances. Entries are keyed by drawable resource id, size, density and bitmap config.
+ */
+public final class ThumbBitmapCache {
+
+    private static final int MAX_CACHE_BYTES = (int) Math.min(4 * 1024 * 1024, Runtime.getRuntime().maxMemory() / 64);
+
+    private static final LruCache<String, Bitmap> cache = new LruCache<String, Bitmap>(MAX_CACHE_BYTES) {
+        @Override
+        protected int sizeOf(String key, Bitmap value) {
+            return value.getByteCount();
+        }
+    };
+
+    private static Context registeredContext;
+
+    private ThumbBitmapCache() {
+    }
+
+    /**
+     * Returns the rasterized bitmap for the given drawable, creating and caching it on first use.
+     *
+     * @param context    The context used to resolve the density and to register the trim hook.
+     * @param resourceId The resource id the drawable was loaded from, 0 if unknown.
+     * @param drawable   The drawable to rasterize.
+     * @return The shared bitmap, must not be modified or recycled by the caller.
+     */
+    public static Bitmap get(Context context, int resourceId, Drawable drawable) {
+        return get(context, resourceId, drawable, false);
+    }
+
+    /**
+     * Returns the {@code ALPHA_8} mask of the given drawable, creating and caching it on first use.
+     *
+     * @param context    The context used to resolve the density and to register the trim hook.
+     * @param resourceId The resource id the drawable was loaded from, 0 if unknown.
+     * @param drawable   The drawable to rasterize.
+     * @return The shared mask, must not be modified or recycled by the caller.
+     */
+    public static Bitmap getMask(Context context, int resourceId, Drawable drawable) {
+        return get(context, resourceId, drawable, true);
+    }
+
+    private static Bitmap get(Context context, int resourceId, Drawable drawable, boolean mask) {
+        if (resourceId == 0) {
+            // no stable key, simply rasterize.
+            return rasterize(drawable, mask);
+        }
+
+        registerCallbacks(context);
+
+        String key = resourceId + ":" + drawable.getIntrinsicWidth() + "x" + drawable.getIntrinsicHeight()
+                + "@" + context.getResources().getDisplayMetrics().densityDpi + (mask ? "/a8" : "");
+        Bitmap bitmap = cache.get(key);
+        if (bitmap == null) {
+            bitmap = rasterize(drawable, mask);
+            cache.put(key, bitmap);
+        }
+        return bitmap;
+    }
+
+    private static Bitmap rasterize(Drawable drawable, boolean mask) {
+        return mask ? Utils.getAlphaMaskFromDrawable(drawable) : Utils.getBitmapFromDrawable(drawable);
+    }
+
+    /**
+     * Releases cached bitmaps according to the given memory trim level. Evicted bitmaps are not recycled
+     * since views may still draw them.
+     *
+     * @param level The level passed to {@link ComponentCallbacks2#onTrimMemory(int)}.
+     */
+    public static void onTrimMemory(int level) {
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_MODERATE) {
+            cache.evictAll();
+        } else if (level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND || level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+            cache.trimToSize(cache.maxSize() / 2);
+        }
+    }
+
+    /**
+     * Removes all cached bitmaps.
+     */
+    public static void clear() {
+        cache.evictAll();
+    }
+
+    private static synchronized void registerCallbacks(Context context) {
+        final Context applicationContext = context.getApplicationContext();
+        if (registeredContext == applicationContext) {
+            return;
+        }
+        registeredContext = applicationContext;
+        applicationContext.registerComponentCallbacks(new ComponentCallbacks2() {
+            @Override
+            public void onTrimMemory(int level) {
+                ThumbBitmapCache.onTrimMemory(level);
+            }
+
+            @Override
+            public void onConfigurationChanged(Configuration newConfig) {
+            }
+
+            @Override
+            public void onLowMemory() {
+                cache.evictAll();
+            }
+        });
+    }
+}
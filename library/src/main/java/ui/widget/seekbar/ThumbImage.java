@@ -0,0 +1,215 @@
+package ui.widget.seekbar;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import android.graphics.drawable.ShapeDrawable;
+import android.graphics.drawable.VectorDrawable;
+
+import androidx.vectordrawable.graphics.drawable.VectorDrawableCompat;
+
+/**
+ * Image of a thumb, drawn centered on the thumb position. The rendering strategy is chosen by
+ * {@link #fromDrawable(Context, int, Drawable, boolean)}:
+ * <ul>
+ * <li>drawables declared single color are stored as one {@code ALPHA_8} mask and tinted with the thumb
+ * color at draw time,</li>
+ * <li>bitmap drawables draw their own bitmap, no copy is made,</li>
+ * <li>vector and shape drawables are rasterized once in full color, shared through
+ * {@link ThumbBitmapCache},</li>
+ * <li>any other drawable is drawn directly with bounds computed once, no rasterization at all.</li>
+ * </ul>
+ */
+public abstract class ThumbImage {
+
+    private final int width;
+    private final int height;
+
+    ThumbImage(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Creates the full color thumb image for the given drawable, picking the cheapest rendering strategy.
+     *
+     * @param context    The context used for the shared bitmap cache.
+     * @param resourceId The resource id the drawable was loaded from, 0 if unknown.
+     * @param drawable   The drawable, it must not be used elsewhere afterwards.
+     * @return The thumb image.
+     */
+    public static ThumbImage fromDrawable(Context context, int resourceId, Drawable drawable) {
+        return fromDrawable(context, resourceId, drawable, false);
+    }
+
+    /**
+     * Creates the thumb image for the given drawable, picking the cheapest rendering strategy.
+     *
+     * @param context    The context used for the shared bitmap cache.
+     * @param resourceId The resource id the drawable was loaded from, 0 if unknown.
+     * @param drawable   The drawable, it must not be used elsewhere afterwards.
+     * @param tinted     true if the drawable is a single color shape, it is then stored as a mask and
+     *                   drawn in the thumb resp. thumb pressed color.
+     * @return The thumb image.
+     */
+    public static ThumbImage fromDrawable(Context context, int resourceId, Drawable drawable, boolean tinted) {
+        if (tinted) {
+            return new Mask(ThumbBitmapCache.getMask(context, resourceId, drawable));
+        }
+        if (drawable instanceof BitmapDrawable && ((BitmapDrawable) drawable).getBitmap() != null) {
+            return fromBitmap(((BitmapDrawable) drawable).getBitmap());
+        }
+        if (drawable instanceof VectorDrawable || drawable instanceof VectorDrawableCompat || drawable instanceof ShapeDrawable) {
+            return fromBitmap(ThumbBitmapCache.get(context, resourceId, drawable));
+        }
+        return new DirectDrawable(drawable.mutate());
+    }
+
+    /**
+     * Creates a thumb image drawing the given full color bitmap as is.
+     *
+     * @param bitmap The bitmap, it must not be modified or recycled while in use.
+     * @return The thumb image.
+     */
+    public static ThumbImage fromBitmap(Bitmap bitmap) {
+        return new Image(bitmap);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns the number of pixel bytes held by this image, 0 if it draws without a bitmap.
+     *
+     * @return The size in bytes.
+     */
+    public abstract int getByteCount();
+
+    /**
+     * Returns the bitmap drawn by this image.
+     *
+     * @return The bitmap, null if the image draws without a bitmap.
+     */
+    abstract Bitmap getBitmap();
+
+    /**
+     * Returns whether the image is a mask drawn in the color of the paint passed to
+     * {@link #draw(Canvas, float, float, Paint)}.
+     *
+     * @return true if the image is tinted.
+     */
+    public abstract boolean isTinted();
+
+    /**
+     * Draws the image centered on the given position.
+     *
+     * @param canvas  The canvas to draw upon.
+     * @param centerX The x-coordinate of the center.
+     * @param centerY The y-coordinate of the center.
+     * @param paint   The paint, its color tints masks.
+     */
+    abstract void draw(Canvas canvas, float centerX, float centerY, Paint paint);
+
+    /**
+     * Returns an image to be drawn by a single user, e.g. one view or one render thread. Images holding
+     * mutable drawable state return a copy, immutable images return themselves.
+     *
+     * @return The image for one user.
+     */
+    ThumbImage newUserInstance() {
+        return this;
+    }
+
+    private static class Image extends ThumbImage {
+        private final Bitmap bitmap;
+
+        Image(Bitmap bitmap) {
+            super(bitmap.getWidth(), bitmap.getHeight());
+            this.bitmap = bitmap;
+        }
+
+        @Override
+        public int getByteCount() {
+            return bitmap.getByteCount();
+        }
+
+        @Override
+        Bitmap getBitmap() {
+            return bitmap;
+        }
+
+        @Override
+        public boolean isTinted() {
+            return false;
+        }
+
+        @Override
+        void draw(Canvas canvas, float centerX, float centerY, Paint paint) {
+            canvas.drawBitmap(bitmap, centerX - getWidth() / 2f, centerY - getHeight() / 2f, paint);
+        }
+    }
+
+    private static class Mask extends Image {
+
+        Mask(Bitmap mask) {
+            super(mask);
+        }
+
+        @Override
+        public boolean isTinted() {
+            return true;
+        }
+    }
+
+    private static class DirectDrawable extends ThumbImage {
+        private final Drawable drawable;
+
+        DirectDrawable(Drawable drawable) {
+            super(Math.max(1, drawable.getIntrinsicWidth()), Math.max(1, drawable.getIntrinsicHeight()));
+            this.drawable = drawable;
+            // centered on the origin once, drawing only translates the canvas.
+            drawable.setBounds(-getWidth() / 2, -getHeight() / 2, getWidth() - getWidth() / 2, getHeight() - getHeight() / 2);
+        }
+
+        @Override
+        ThumbImage newUserInstance() {
+            final Drawable.ConstantState state = drawable.getConstantState();
+            if (state == null) {
+                // the drawable cannot be copied, it stays shared.
+                return this;
+            }
+            return new DirectDrawable(state.newDrawable().mutate());
+        }
+
+        @Override
+        public int getByteCount() {
+            return 0;
+        }
+
+        @Override
+        Bitmap getBitmap() {
+            return null;
+        }
+
+        @Override
+        public boolean isTinted() {
+            return false;
+        }
+
+        @Override
+        void draw(Canvas canvas, float centerX, float centerY, Paint paint) {
+            final int saveCount = canvas.save();
+            canvas.translate(centerX, centerY);
+            drawable.draw(canvas);
+            canvas.restoreToCount(saveCount);
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package ui.widget.seekbar;
+
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewConfiguration;
+
+/**
+ * Touch input of a single thumb, shared by {@link CenterThumbSeekBar} and {@link CenterThumbSeekBarSurfaceView}
+ * so both hit test, track and notify the same way. Handles the thumb press, the touch slop, tap-to-seek and
+ * the active pointer of multi-touch gestures, and delivers value changes according to the
+ * {@link ValueDispatchMode}. The value itself is owned by the view and driven through the {@link Callback}.
+ * Must only be used on the UI thread.
+ */
+final class ThumbTouchHelper {
+
+    private final View view;
+    private final Callback callback;
+    private final int scaledTouchSlop;
+    private float mDownMotionX;
+    private int mActivePointerId = Const.INVALID_POINTER_ID;
+    private boolean isThumbPressed;
+    private boolean isDragging;
+    private ValueDispatchMode dispatchMode = ValueDispatchMode.IMMEDIATE;
+    private double minValueDelta = 0d;
+    private double lastDispatchedValue = Double.NaN;
+    private ThumbDirection lastDispatchedDirection = ThumbDirection.NONE;
+    private int lastDispatchedStep = -1;
+    private boolean isDispatchScheduled;
+    private final Runnable dispatchRunnable = new Runnable() {
+        @Override
+        public void run() {
+            isDispatchScheduled = false;
+            dispatchValueChange(false);
+        }
+    };
+
+    ThumbTouchHelper(View view, Callback callback) {
+        this.view = view;
+        this.callback = callback;
+        this.scaledTouchSlop = ViewConfiguration.get(view.getContext()).getScaledTouchSlop();
+    }
+
+    boolean isThumbPressed() {
+        return isThumbPressed;
+    }
+
+    boolean isDragging() {
+        return isDragging;
+    }
+
+    void setValueDispatchMode(ValueDispatchMode mode) {
+        this.dispatchMode = mode;
+        if (mode != ValueDispatchMode.COALESCED) {
+            cancelScheduledDispatch();
+        }
+    }
+
+    ValueDispatchMode getValueDispatchMode() {
+        return dispatchMode;
+    }
+
+    void setMinValueDelta(double minValueDelta) {
+        this.minValueDelta = Math.max(0d, minValueDelta);
+    }
+
+    /**
+     * Drops any touch interaction in progress and forgets the last delivered value, without notifying
+     * the callback.
+     */
+    void reset() {
+        cancelScheduledDispatch();
+        isDragging = false;
+        isThumbPressed = false;
+        mActivePointerId = Const.INVALID_POINTER_ID;
+        resetDispatchState();
+    }
+
+    /**
+     * Forgets the last delivered value, the next change is delivered whatever its delta.
+     */
+    void resetDispatchState() {
+        lastDispatchedValue = Double.NaN;
+        lastDispatchedDirection = ThumbDirection.NONE;
+        lastDispatchedStep = -1;
+    }
+
+    /**
+     * Handles a touch event of the view.
+     *
+     * @param event The touch event.
+     * @return false if the gesture does not start on the thumb, the view should then fall back to its
+     * default handling.
+     */
+    boolean onTouchEvent(MotionEvent event) {
+        int pointerIndex;
+
+        final int action = event.getAction();
+        switch (action & MotionEvent.ACTION_MASK) {
+            case MotionEvent.ACTION_DOWN:
+                // Remember where the motion event started
+                mActivePointerId = event.getPointerId(event.getPointerCount() - 1);
+                pointerIndex = event.findPointerIndex(mActivePointerId);
+                mDownMotionX = event.getX(pointerIndex);
+                isThumbPressed = callback.isInThumbRange(mDownMotionX);
+
+                // Only handle thumb presses.
+                if (!isThumbPressed) {
+                    return false;
+                }
+
+                view.setPressed(true);
+                callback.onThumbStateChanged(true);
+                onStartTrackingTouch(event);
+                trackTouchEvent(event);
+                attemptClaimDrag();
+                break;
+
+            case MotionEvent.ACTION_MOVE:
+                if (isThumbPressed) {
+
+                    if (isDragging) {
+                        trackTouchEvent(event);
+                    } else {
+                        // Scroll to follow the motion event
+                        pointerIndex = event.findPointerIndex(mActivePointerId);
+                        final float x = event.getX(pointerIndex);
+
+                        if (Math.abs(x - mDownMotionX) > scaledTouchSlop) {
+                            view.setPressed(true);
+                            callback.onThumbStateChanged(true);
+                            onStartTrackingTouch(event);
+                            trackTouchEvent(event);
+                            attemptClaimDrag();
+                        }
+                    }
+
+                    notifyValueChange();
+                }
+                break;
+
+            case MotionEvent.ACTION_UP:
+                if (!isThumbPressed) {
+                    // the gesture has been dropped by reset(), its release must not seek.
+                    break;
+                }
+                if (isDragging) {
+                    trackTouchEvent(event);
+                    onStopTrackingTouch();
+                    view.setPressed(false);
+                } else {
+                    // Touch up when we never crossed the touch slop threshold
+                    // should be interpreted as a tap-seek to that location.
+                    onStartTrackingTouch(event);
+                    trackTouchEvent(event);
+                    onStopTrackingTouch();
+                }
+
+                isThumbPressed = false;
+                callback.onThumbStateChanged(false);
+                notifySettledValueChange();
+                break;
+
+            case MotionEvent.ACTION_POINTER_DOWN: {
+                final int index = event.getPointerCount() - 1;
+                mDownMotionX = event.getX(index);
+                mActivePointerId = event.getPointerId(index);
+                callback.onThumbStateChanged(isThumbPressed);
+                break;
+            }
+            case MotionEvent.ACTION_POINTER_UP:
+                onSecondaryPointerUp(event);
+                callback.onThumbStateChanged(isThumbPressed);
+                break;
+            case MotionEvent.ACTION_CANCEL:
+                if (isDragging) {
+                    onStopTrackingTouch();
+                    view.setPressed(false);
+                }
+                isThumbPressed = false;
+                callback.onThumbStateChanged(false);
+                break;
+        }
+        return true;
+    }
+
+    private void onSecondaryPointerUp(MotionEvent ev) {
+        final int pointerIndex = (ev.getAction() & Const.ACTION_POINTER_INDEX_MASK) >> Const.ACTION_POINTER_INDEX_SHIFT;
+        final int pointerId = ev.getPointerId(pointerIndex);
+        if (pointerId == mActivePointerId) {
+            // This was our active pointer going up. Choose
+            // a new active pointer and adjust accordingly.
+            final int newPointerIndex = pointerIndex == 0 ? 1 : 0;
+            mDownMotionX = ev.getX(newPointerIndex);
+            mActivePointerId = ev.getPointerId(newPointerIndex);
+        }
+    }
+
+    /**
+     * Tries to claim the user's drag motion, and requests disallowing any
+     * ancestors from stealing events in the drag.
+     */
+    private void attemptClaimDrag() {
+        if (view.getParent() != null) {
+            view.getParent().requestDisallowInterceptTouchEvent(true);
+        }
+    }
+
+    private void trackTouchEvent(MotionEvent event) {
+        callback.onTrackTouchEvent(event, event.findPointerIndex(mActivePointerId));
+    }
+
+    /**
+     * This is called when the user has started touching this widget.
+     */
+    private void onStartTrackingTouch(MotionEvent event) {
+        isDragging = true;
+        callback.onStartTrackingTouch(event);
+    }
+
+    /**
+     * This is called when the user either releases his touch or the touch is
+     * canceled.
+     */
+    private void onStopTrackingTouch() {
+        isDragging = false;
+        callback.onStopTrackingTouch();
+    }
+
+    private void notifyValueChange() {
+        final int step = callback.getThumbStep();
+        if (step >= 0 && step == lastDispatchedStep) {
+            // still on the same step, nothing changed for the listeners.
+            return;
+        }
+        if (dispatchMode == ValueDispatchMode.COALESCED) {
+            if (!isDispatchScheduled) {
+                isDispatchScheduled = true;
+                view.postOnAnimation(dispatchRunnable);
+            }
+        } else {
+            dispatchValueChange(true);
+        }
+    }
+
+    /**
+     * Delivers the final value on release, any pending coalesced callback is folded into it.
+     */
+    private void notifySettledValueChange() {
+        cancelScheduledDispatch();
+        dispatchValueChange(true);
+    }
+
+    void cancelScheduledDispatch() {
+        if (isDispatchScheduled) {
+            isDispatchScheduled = false;
+            view.removeCallbacks(dispatchRunnable);
+        }
+    }
+
+    /**
+     * Delivers the current thumb side and value to the callback.
+     *
+     * @param force true to deliver even if the value did not change enough since the last delivery.
+     */
+    void dispatchValueChange(boolean force) {
+        final ThumbDirection direction = callback.getThumbDirection();
+        final double value = callback.getThumbValue();
+
+        if (!force && direction == lastDispatchedDirection) {
+            double delta = Math.abs(value - lastDispatchedValue);
+            if (delta == 0d || delta < minValueDelta) {
+                return;
+            }
+        }
+        lastDispatchedValue = value;
+        lastDispatchedDirection = direction;
+        lastDispatchedStep = callback.getThumbStep();
+        callback.onDispatchValueChange(direction, value);
+    }
+
+    /**
+     * Connects the helper to the value and the listeners of a view.
+     */
+    interface Callback {
+        /**
+         * @param touchX The x-coordinate of a touch event in view space.
+         * @return true if the thumb is touched at the given x-coordinate.
+         */
+        boolean isInThumbRange(float touchX);
+
+        /**
+         * Called when the pressed state of the thumb or the active pointer changed.
+         *
+         * @param pressed true while the thumb is pressed.
+         */
+        void onThumbStateChanged(boolean pressed);
+
+        void onStartTrackingTouch(MotionEvent event);
+
+        /**
+         * Moves the thumb to the active pointer of the given event.
+         *
+         * @param event        The touch event.
+         * @param pointerIndex The index of the active pointer in the event.
+         */
+        void onTrackTouchEvent(MotionEvent event, int pointerIndex);
+
+        void onStopTrackingTouch();
+
+        ThumbDirection getThumbDirection();
+
+        /**
+         * @return The absolute value of the thumb on its side of the center.
+         */
+        double getThumbValue();
+
+        /**
+         * @return The snapped step in step mode, -1 otherwise.
+         */
+        int getThumbStep();
+
+        /**
+         * Notifies the listeners of the view about a value change.
+         *
+         * @param direction The side of the center the thumb is on.
+         * @param value     The absolute value.
+         */
+        void onDispatchValueChange(ThumbDirection direction, double value);
+    }
+}
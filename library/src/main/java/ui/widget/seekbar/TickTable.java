@@ -0,0 +1,76 @@
+package ui.widget.seekbar;
+
+import java.util.Arrays;
+
+/**
+ * Precomputed, sorted table of the normalized positions of all steps of a {@link CenterThumbSeekBar} in
+ * step mode. Steps are counted from the center in both directions, both track ends are always included.
+ * Snapping is a binary search and never allocates.
+ */
+public class TickTable {
+
+    private final double[] ticks;
+
+    /**
+     * Creates the tick table for the given value range.
+     *
+     * @param mapper   The mapper holding the fromValue/toValue scaling.
+     * @param stepSize The step size in user value units, must be positive.
+     */
+    public TickTable(ValueMapper mapper, double stepSize) {
+        if (!(stepSize > 0)) {
+            throw new IllegalArgumentException("stepSize must be positive: " + stepSize);
+        }
+        final double fromMagnitude = Math.abs(mapper.getFromValue());
+        final double toMagnitude = Math.abs(mapper.getToValue());
+        final int fromSteps = (int) Math.ceil(fromMagnitude / stepSize - 1e-9);
+        final int toSteps = (int) Math.ceil(toMagnitude / stepSize - 1e-9);
+
+        ticks = new double[fromSteps + 1 + toSteps];
+        for (int i = 0; i < fromSteps; i++) {
+            // the last step is clamped to the track end.
+            double value = Math.min(fromMagnitude, (fromSteps - i) * stepSize);
+            ticks[i] = mapper.userValueToNormalized(-value);
+        }
+        ticks[fromSteps] = mapper.userValueToNormalized(0d);
+        for (int i = 1; i <= toSteps; i++) {
+            double value = Math.min(toMagnitude, i * stepSize);
+            ticks[fromSteps + i] = mapper.userValueToNormalized(value);
+        }
+    }
+
+    public int size() {
+        return ticks.length;
+    }
+
+    /**
+     * Returns the normalized position of a step.
+     *
+     * @param index The step index, 0 is the left track end.
+     * @return The normalized position.
+     */
+    public double get(int index) {
+        return ticks[index];
+    }
+
+    /**
+     * Finds the step nearest to the given normalized position.
+     *
+     * @param normalized The normalized position.
+     * @return The index of the nearest step.
+     */
+    public int snap(double normalized) {
+        int index = Arrays.binarySearch(ticks, normalized);
+        if (index >= 0) {
+            return index;
+        }
+        int insertion = -index - 1;
+        if (insertion == 0) {
+            return 0;
+        }
+        if (insertion == ticks.length) {
+            return ticks.length - 1;
+        }
+        return normalized - ticks[insertion - 1] <= ticks[insertion] - normalized ? insertion - 1 : insertion;
+    }
+}
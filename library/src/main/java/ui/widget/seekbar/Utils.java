@@ -21,6 +21,23 @@ public class Utils {
         return bitmap;
     }
 
+    /**
+     * Rasterizes the coverage of the given drawable into an {@code ALPHA_8} bitmap, a quarter of the
+     * memory of {@link #getBitmapFromDrawable(Drawable)}. The colors of the drawable are dropped.
+     *
+     * @param drawable The drawable to rasterize at its intrinsic size.
+     * @return The mask bitmap.
+     */
+    public static Bitmap getAlphaMaskFromDrawable(Drawable drawable) {
+        int width = drawable.getIntrinsicWidth();
+        int height = drawable.getIntrinsicHeight();
+        Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ALPHA_8);
+        Canvas canvas = new Canvas(bitmap);
+        drawable.setBounds(0, 0, width, height);
+        drawable.draw(canvas);
+        return bitmap;
+    }
+
     public static float pxToDp(int px) {
         return (px / Resources.getSystem().getDisplayMetrics().density);
     }
@@ -29,6 +46,14 @@ public class Utils {
         return (dp * Resources.getSystem().getDisplayMetrics().density);
     }
 
+    public static float dpToPx(int dp, float density) {
+        return (dp * density);
+    }
+
+    public static float spToPx(int sp, float scaledDensity) {
+        return (sp * scaledDensity);
+    }
+
     public static int measureDim(int desiredSize, int measureSpec) {
         int result;
         int specMode = View.MeasureSpec.getMode(measureSpec);
@@ -0,0 +1,11 @@
+package ui.widget.seekbar;
+
+/**
+ * How value changes are delivered to the listeners while dragging.
+ * <ul>
+ * <li>{@link #IMMEDIATE} notifies on every touch move event.</li>
+ * <li>{@link #COALESCED} drops unchanged values and delivers at most one callback per frame,
+ * followed by a guaranteed settled callback on release.</li>
+ * </ul>
+ */
+public enum ValueDispatchMode {IMMEDIATE, COALESCED}
@@ -0,0 +1,124 @@
+package ui.widget.seekbar;
+
+/**
+ * Fixed-point formatter writing into a reusable {@code char[]}, used for the value label of
+ * {@link CenterThumbSeekBar}. Values are rounded half away from zero to the configured number of
+ * decimals. Formatting never allocates.
+ */
+public final class ValueFormatter {
+
+    public static final int MAX_DECIMALS = 6;
+
+    private static final long[] POWERS_OF_TEN = {1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L};
+
+    /**
+     * Sign and the 19 digits of {@link Long#MAX_VALUE} plus the decimal point.
+     */
+    private static final int MAX_NUMBER_LENGTH = 21;
+
+    private final int decimals;
+    private final char[] prefix;
+    private final char[] suffix;
+    private final char[] chars;
+    private int length;
+
+    /**
+     * Creates a formatter.
+     *
+     * @param decimals The number of decimals, between 0 and {@link #MAX_DECIMALS}.
+     * @param prefix   The text written before the number, may be null.
+     * @param suffix   The text written after the number, may be null.
+     */
+    public ValueFormatter(int decimals, String prefix, String suffix) {
+        if (decimals < 0 || decimals > MAX_DECIMALS) {
+            throw new IllegalArgumentException("decimals must be between 0 and " + MAX_DECIMALS + ": " + decimals);
+        }
+        this.decimals = decimals;
+        this.prefix = prefix != null ? prefix.toCharArray() : new char[0];
+        this.suffix = suffix != null ? suffix.toCharArray() : new char[0];
+        this.chars = new char[this.prefix.length + MAX_NUMBER_LENGTH + this.suffix.length];
+    }
+
+    /**
+     * Returns the value scaled to an integer number of the smallest shown decimal, formatted values with
+     * the same fixed-point value produce the same text.
+     *
+     * @param value The value.
+     * @return The rounded, scaled value.
+     */
+    public long toFixedPoint(double value) {
+        long magnitude = Math.round(Math.abs(value) * POWERS_OF_TEN[decimals]);
+        return value < 0 ? -magnitude : magnitude;
+    }
+
+    /**
+     * Formats the given value into {@link #getChars()}.
+     *
+     * @param value The value to format.
+     * @return The number of valid characters.
+     */
+    public int format(double value) {
+        return formatFixedPoint(toFixedPoint(value));
+    }
+
+    /**
+     * Formats the given fixed-point value, see {@link #toFixedPoint(double)}, into {@link #getChars()}.
+     *
+     * @param fixedPoint The scaled value.
+     * @return The number of valid characters.
+     */
+    public int formatFixedPoint(long fixedPoint) {
+        int position = 0;
+        System.arraycopy(prefix, 0, chars, position, prefix.length);
+        position += prefix.length;
+
+        if (fixedPoint < 0) {
+            chars[position++] = '-';
+        }
+        // negating Long.MIN_VALUE overflows, it is out of any sensible range anyway.
+        long magnitude = fixedPoint == Long.MIN_VALUE ? Long.MAX_VALUE : Math.abs(fixedPoint);
+        long integerPart = magnitude / POWERS_OF_TEN[decimals];
+        long fractionPart = magnitude % POWERS_OF_TEN[decimals];
+
+        int digitCount = 1;
+        for (long rest = integerPart / 10; rest > 0; rest /= 10) {
+            digitCount++;
+        }
+        for (int i = position + digitCount - 1; i >= position; i--) {
+            chars[i] = (char) ('0' + integerPart % 10);
+            integerPart /= 10;
+        }
+        position += digitCount;
+
+        if (decimals > 0) {
+            chars[position++] = '.';
+            for (int i = position + decimals - 1; i >= position; i--) {
+                chars[i] = (char) ('0' + fractionPart % 10);
+                fractionPart /= 10;
+            }
+            position += decimals;
+        }
+
+        System.arraycopy(suffix, 0, chars, position, suffix.length);
+        position += suffix.length;
+        length = position;
+        return length;
+    }
+
+    /**
+     * Returns the buffer holding the last formatted text, it is reused by the next call.
+     *
+     * @return The characters, valid up to {@link #getLength()}.
+     */
+    public char[] getChars() {
+        return chars;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public int getDecimals() {
+        return decimals;
+    }
+}
@@ -0,0 +1,29 @@
+package ui.widget.seekbar;
+
+/**
+ * Primitive easing curve used by animated value changes, see {@link CenterThumbSeekBar#setValue(double, boolean)}.
+ */
+public interface ValueInterpolator {
+
+    ValueInterpolator LINEAR = new ValueInterpolator() {
+        @Override
+        public float getInterpolation(float input) {
+            return input;
+        }
+    };
+
+    ValueInterpolator DECELERATE = new ValueInterpolator() {
+        @Override
+        public float getInterpolation(float input) {
+            return 1f - (1f - input) * (1f - input);
+        }
+    };
+
+    /**
+     * Maps the elapsed fraction of an animation to the fraction of the value change.
+     *
+     * @param input The elapsed fraction in [0, 1].
+     * @return The interpolated fraction, 0 at the start and 1 at the end.
+     */
+    float getInterpolation(float input);
+}
@@ -0,0 +1,144 @@
+package ui.widget.seekbar;
+
+/**
+ * Framework free value mapping engine used by {@link CenterThumbSeekBar}. Converts between screen
+ * coordinates, normalized thumb positions [0, 1] and user values, using primitives only. User values are
+ * mapped by a {@link RangeEngine}.
+ */
+public class ValueMapper {
+
+    private final double absoluteMinValue;
+    private final double absoluteMaxValue;
+    private final RangeEngine rangeEngine;
+    private double fromValue;
+    private double toValue;
+    private float width;
+    private float padding;
+
+    public ValueMapper(double absoluteMinValue, double absoluteMaxValue) {
+        this.absoluteMinValue = absoluteMinValue;
+        this.absoluteMaxValue = absoluteMaxValue;
+        this.fromValue = absoluteMinValue;
+        this.toValue = absoluteMaxValue;
+        this.rangeEngine = new RangeEngine(absoluteMinValue, absoluteMaxValue);
+    }
+
+    /**
+     * Sets the user value range of both sides of the center.
+     *
+     * @param fromValue The value reported at the left end of the track.
+     * @param toValue   The value reported at the right end of the track.
+     */
+    public void setValueRange(double fromValue, double toValue) {
+        this.fromValue = fromValue;
+        this.toValue = toValue;
+        rangeEngine.setRange(fromValue, toValue);
+    }
+
+    /**
+     * Sets how the thumb distance from the center maps to the user value.
+     *
+     * @param curve The response curve, {@link ResponseCurve#LINEAR} by default.
+     */
+    public void setResponseCurve(ResponseCurve curve) {
+        rangeEngine.setResponseCurve(curve);
+    }
+
+    public ResponseCurve getResponseCurve() {
+        return rangeEngine.getResponseCurve();
+    }
+
+    /**
+     * Sets the screen space the track is laid out in.
+     *
+     * @param width   The view width.
+     * @param padding The horizontal padding on both ends of the track.
+     */
+    public void setBounds(float width, float padding) {
+        this.width = width;
+        this.padding = padding;
+    }
+
+    public double getFromValue() {
+        return fromValue;
+    }
+
+    public double getToValue() {
+        return toValue;
+    }
+
+    public float getWidth() {
+        return width;
+    }
+
+    public float getPadding() {
+        return padding;
+    }
+
+    /**
+     * Converts screen space x-coordinates into normalized values.
+     *
+     * @param screenCoordinate The x-coordinate in screen space to convert.
+     * @return The normalized value.
+     */
+    public double screenToNormalized(float screenCoordinate) {
+        if (width <= 2 * padding) {
+            // prevent division by zero, simply return 0.
+            return 0d;
+        } else {
+            double result = (screenCoordinate - padding) / (width - 2 * padding);
+            return Math.min(1d, Math.max(0d, result));
+        }
+    }
+
+    /**
+     * Converts a normalized value into screen space.
+     *
+     * @param normalizedCoordinates The normalized value to convert.
+     * @return The converted value in screen space.
+     */
+    public float normalizedToScreen(double normalizedCoordinates) {
+        return (float) (padding + normalizedCoordinates * (width - 2 * padding));
+    }
+
+    public double valueToNormalized(double value) {
+        if (0 == absoluteMaxValue - absoluteMinValue) {
+            // prevent division by zero, simply return 0.
+            return 0d;
+        }
+        return (value - absoluteMinValue) / (absoluteMaxValue - absoluteMinValue);
+    }
+
+    /**
+     * Converts a normalized value into a signed user value, negative on the "from" side of the center.
+     *
+     * @param normalized The normalized value to convert.
+     * @return The signed user value.
+     */
+    public double normalizedToUserValue(double normalized) {
+        return rangeEngine.normalizedToValue(normalized);
+    }
+
+    /**
+     * Converts a signed user value into a normalized value, the inverse of {@link #normalizedToUserValue(double)}.
+     *
+     * @param userValue The signed user value, negative on the "from" side of the center.
+     * @return The normalized value.
+     */
+    public double userValueToNormalized(double userValue) {
+        return rangeEngine.valueToNormalized(userValue);
+    }
+
+    /**
+     * Decides if given x-coordinate in screen space needs to be interpreted as
+     * "within" the normalized thumb x-coordinate.
+     *
+     * @param touchX               The x-coordinate in screen space to check.
+     * @param normalizedThumbValue The normalized x-coordinate of the thumb to check.
+     * @param thumbRadius          The touch radius of the thumb.
+     * @return true if x-coordinate is in thumb range, false otherwise.
+     */
+    public boolean isInThumbRange(float touchX, double normalizedThumbValue, float thumbRadius) {
+        return Math.abs(touchX - normalizedToScreen(normalizedThumbValue)) <= thumbRadius;
+    }
+}
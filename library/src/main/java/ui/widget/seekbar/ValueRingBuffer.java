@@ -0,0 +1,121 @@
+package ui.widget.seekbar;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Preallocated single-producer single-consumer ring buffer of value samples. Offering and polling are
+ * lock-free and never allocate. In overwrite mode a full buffer drops its oldest sample: the producer
+ * and the consumer both advance the read index with CAS, a consumer that loses the race discards the
+ * sample it copied and retries.
+ */
+class ValueRingBuffer {
+
+    private static final ThumbDirection[] DIRECTIONS = ThumbDirection.values();
+
+    private final double[] values;
+    private final int[] directions;
+    private final long[] timestamps;
+    private final int mask;
+    private final boolean overwrite;
+    private final AtomicLong readIndex = new AtomicLong();
+    private final AtomicLong writeIndex = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    /**
+     * @param capacity  The capacity, rounded up to a power of two.
+     * @param overwrite true to drop the oldest sample when full, false to reject new samples.
+     */
+    ValueRingBuffer(int capacity, boolean overwrite) {
+        if (capacity < 1 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("capacity out of range: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.values = new double[size];
+        this.directions = new int[size];
+        this.timestamps = new long[size];
+        this.mask = size - 1;
+        this.overwrite = overwrite;
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    boolean isEmpty() {
+        return readIndex.get() >= writeIndex.get();
+    }
+
+    /**
+     * Adds a sample, producer thread only.
+     *
+     * @return false if the buffer is full and not in overwrite mode.
+     */
+    boolean offer(double value, ThumbDirection direction, long timestampNanos) {
+        final long w = writeIndex.get();
+        while (true) {
+            final long r = readIndex.get();
+            if (w - r <= mask) {
+                break;
+            }
+            if (!overwrite) {
+                return false;
+            }
+            if (readIndex.compareAndSet(r, r + 1)) {
+                droppedCount.incrementAndGet();
+                break;
+            }
+            // the consumer advanced meanwhile, there is room now.
+        }
+        final int slot = (int) (w & mask);
+        values[slot] = value;
+        directions[slot] = direction.ordinal();
+        timestamps[slot] = timestampNanos;
+        writeIndex.lazySet(w + 1);
+        return true;
+    }
+
+    /**
+     * Removes the oldest sample and hands it to the consumer, consumer thread only.
+     *
+     * @return false if the buffer was empty.
+     */
+    boolean poll(ValueStream.Consumer consumer) {
+        return take(consumer, false);
+    }
+
+    /**
+     * Removes all pending samples and hands only the newest one to the consumer, consumer thread only.
+     *
+     * @return false if the buffer was empty.
+     */
+    boolean pollLatest(ValueStream.Consumer consumer) {
+        return take(consumer, true);
+    }
+
+    private boolean take(ValueStream.Consumer consumer, boolean latest) {
+        while (true) {
+            final long r = readIndex.get();
+            final long w = writeIndex.get();
+            if (r >= w) {
+                return false;
+            }
+            final long index = latest ? w - 1 : r;
+            final int slot = (int) (index & mask);
+            final double value = values[slot];
+            final int direction = directions[slot];
+            final long timestamp = timestamps[slot];
+            // a successful CAS proves the producer did not drop and overwrite the copied slot.
+            if (readIndex.compareAndSet(r, index + 1)) {
+                consumer.onSample(value, DIRECTIONS[direction], timestamp);
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package ui.widget.seekbar;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Delivers value samples of a {@link CenterThumbSeekBar} to a consumer off the UI thread, attached with
+ * {@link CenterThumbSeekBar#setValueStream(ValueStream)}. Samples are published into a preallocated
+ * lock-free ring buffer and drained on the given executor, so heavy consumers do not add to input
+ * latency. A drain task is only submitted when the consumer is idle.
+ */
+public final class ValueStream {
+
+    private static final long BLOCK_PARK_NANOS = 50_000L;
+
+    private final ValueRingBuffer buffer;
+    private final OverflowPolicy policy;
+    private final Executor executor;
+    private final Consumer consumer;
+    private final AtomicBoolean isDrainScheduled = new AtomicBoolean();
+    private final Runnable drainTask = new Runnable() {
+        @Override
+        public void run() {
+            drain();
+        }
+    };
+
+    /**
+     * @param capacity The ring buffer capacity, rounded up to a power of two.
+     * @param policy   What to do when the consumer falls behind.
+     * @param executor The executor running the consumer, e.g. a single thread executor. Drain tasks never
+     *                 run concurrently.
+     * @param consumer The consumer receiving the samples on the executor.
+     */
+    public ValueStream(int capacity, OverflowPolicy policy, Executor executor, Consumer consumer) {
+        this.buffer = new ValueRingBuffer(capacity, policy != OverflowPolicy.BLOCK);
+        this.policy = policy;
+        this.executor = executor;
+        this.consumer = consumer;
+    }
+
+    /**
+     * Publishes a sample, must always be called from the same (producer) thread.
+     *
+     * @param value          The value.
+     * @param direction      The thumb side the value belongs to.
+     * @param timestampNanos The sample time, {@link System#nanoTime()} based.
+     */
+    public void publish(double value, ThumbDirection direction, long timestampNanos) {
+        while (!buffer.offer(value, direction, timestampNanos)) {
+            // BLOCK policy, wait for the consumer to make room.
+            scheduleDrain();
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+        }
+        scheduleDrain();
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return policy;
+    }
+
+    public int getCapacity() {
+        return buffer.capacity();
+    }
+
+    /**
+     * Returns the number of samples overwritten before the consumer saw them.
+     *
+     * @return The dropped sample count.
+     */
+    public long getDroppedCount() {
+        return buffer.getDroppedCount();
+    }
+
+    private void scheduleDrain() {
+        if (isDrainScheduled.compareAndSet(false, true)) {
+            executor.execute(drainTask);
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            if (policy == OverflowPolicy.KEEP_LATEST) {
+                buffer.pollLatest(consumer);
+            } else {
+                while (buffer.poll(consumer)) {
+                    // keep draining
+                }
+            }
+            isDrainScheduled.set(false);
+            // a sample published after the last poll but before the flag was cleared would be stranded.
+            if (buffer.isEmpty() || !isDrainScheduled.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Receives value samples on the stream executor.
+     */
+    public interface Consumer {
+        void onSample(double value, ThumbDirection direction, long timestampNanos);
+    }
+}
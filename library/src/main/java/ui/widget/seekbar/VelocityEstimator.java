@@ -0,0 +1,63 @@
+package ui.widget.seekbar;
+
+/**
+ * Estimates the horizontal touch velocity with a least squares fit over the most recent samples.
+ * Samples are kept in a preallocated ring, adding samples and estimating never allocates.
+ */
+public class VelocityEstimator {
+
+    private static final int HISTORY_SIZE = 8;
+    private static final long HORIZON_MILLIS = 100;
+
+    private final float[] positions = new float[HISTORY_SIZE];
+    private final long[] times = new long[HISTORY_SIZE];
+    private int index = -1;
+    private int count;
+
+    public void clear() {
+        index = -1;
+        count = 0;
+    }
+
+    public void addSample(long timeMillis, float x) {
+        index = (index + 1) % HISTORY_SIZE;
+        positions[index] = x;
+        times[index] = timeMillis;
+        count = Math.min(count + 1, HISTORY_SIZE);
+    }
+
+    /**
+     * Returns the velocity over the samples of the last {@value #HORIZON_MILLIS} ms.
+     *
+     * @return The velocity in pixels per millisecond, 0 without enough samples.
+     */
+    public float getVelocity() {
+        if (count < 2) {
+            return 0f;
+        }
+        final long newest = times[index];
+        double sumT = 0;
+        double sumX = 0;
+        double sumTT = 0;
+        double sumTX = 0;
+        int n = 0;
+        for (int i = 0; i < count; i++) {
+            int sample = (index - i + HISTORY_SIZE) % HISTORY_SIZE;
+            long age = newest - times[sample];
+            if (age > HORIZON_MILLIS) {
+                break;
+            }
+            double t = -age;
+            sumT += t;
+            sumX += positions[sample];
+            sumTT += t * t;
+            sumTX += t * positions[sample];
+            n++;
+        }
+        double denominator = n * sumTT - sumT * sumT;
+        if (n < 2 || denominator == 0) {
+            return 0f;
+        }
+        return (float) ((n * sumTX - sumT * sumX) / denominator);
+    }
+}
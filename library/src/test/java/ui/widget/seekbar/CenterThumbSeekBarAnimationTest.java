@@ -0,0 +1,146 @@
+package ui.widget.seekbar;
+
+import android.app.Activity;
+import android.view.MotionEvent;
+import android.widget.FrameLayout;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies animated value changes: interpolation, the shared frame clock, model write back and cancelling.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class CenterThumbSeekBarAnimationTest {
+
+    private static final long DURATION_MS = 1000L;
+
+    private FrameLayout parent;
+    private CenterThumbSeekBar seekBar;
+
+    @Before
+    public void setUp() {
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        parent = new FrameLayout(activity);
+        activity.setContentView(parent);
+        seekBar = addSeekBar(activity);
+        idle(100);
+    }
+
+    @After
+    public void tearDown() {
+        // runs the pending clock frame so the shared clock does not outlive this test's Choreographer.
+        idle(2 * DURATION_MS);
+    }
+
+    private CenterThumbSeekBar addSeekBar(Activity activity) {
+        CenterThumbSeekBar view = new CenterThumbSeekBar(activity);
+        view.setValueAnimationDuration(DURATION_MS);
+        parent.addView(view, new FrameLayout.LayoutParams(400, 40));
+        return view;
+    }
+
+    private static void idle(long millis) {
+        ShadowLooper.idleMainLooper(millis, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void animation_interpolatesAndReachesTarget() {
+        seekBar.setValue(50d, true);
+        assertEquals(0d, seekBar.getValue(), 0d);
+
+        idle(DURATION_MS / 4);
+        double halfway = seekBar.getValue();
+        assertTrue(halfway > 0d && halfway < 50d);
+
+        idle(2 * DURATION_MS);
+        assertEquals(50d, seekBar.getValue(), 1e-9);
+        assertEquals(0, AnimationClock.getInstance().getListenerCount());
+    }
+
+    @Test
+    public void animation_writesFinalValueToModel() {
+        SeekBarModel model = new SeekBarModel(1);
+        seekBar.setModel(model, 0);
+
+        seekBar.setValue(-30d, true);
+        idle(DURATION_MS / 4);
+        assertEquals(0d, model.getValue(0), 0d);
+
+        idle(2 * DURATION_MS);
+        assertEquals(-30d, model.getValue(0), 1e-9);
+        assertEquals(-30d, seekBar.getValue(), 1e-9);
+    }
+
+    @Test
+    public void severalViews_shareOneFrameCallback() {
+        CenterThumbSeekBar other = addSeekBar((Activity) parent.getContext());
+        idle(100);
+
+        seekBar.setValue(40d, true);
+        other.setValue(-40d, true);
+
+        AnimationClock clock = AnimationClock.getInstance();
+        assertEquals(2, clock.getListenerCount());
+        assertTrue(clock.isFrameCallbackPosted());
+
+        idle(2 * DURATION_MS);
+        assertEquals(40d, seekBar.getValue(), 1e-9);
+        assertEquals(-40d, other.getValue(), 1e-9);
+        assertEquals(0, clock.getListenerCount());
+    }
+
+    @Test
+    public void touch_cancelsAnimation() {
+        seekBar.setValue(50d, true);
+        idle(DURATION_MS / 4);
+
+        MotionEvent down = MotionEvent.obtain(0L, 0L, MotionEvent.ACTION_DOWN, seekBar.getThumbX(), 20f, 0);
+        seekBar.onTouchEvent(down);
+        down.recycle();
+        double touched = seekBar.getValue();
+        assertEquals(0, AnimationClock.getInstance().getListenerCount());
+
+        idle(2 * DURATION_MS);
+        assertEquals(touched, seekBar.getValue(), 0d);
+
+        MotionEvent cancel = MotionEvent.obtain(0L, 0L, MotionEvent.ACTION_CANCEL, seekBar.getThumbX(), 20f, 0);
+        seekBar.onTouchEvent(cancel);
+        cancel.recycle();
+    }
+
+    @Test
+    public void bind_cancelsAnimation() {
+        seekBar.setValue(50d, true);
+        idle(DURATION_MS / 4);
+
+        seekBar.bind(seekBar.getConfig(), -10d);
+        idle(2 * DURATION_MS);
+
+        assertEquals(-10d, seekBar.getValue(), 1e-9);
+        assertEquals(0, AnimationClock.getInstance().getListenerCount());
+    }
+
+    @Test
+    public void detach_cancelsAnimation() {
+        seekBar.setValue(50d, true);
+        idle(DURATION_MS / 4);
+
+        parent.removeView(seekBar);
+        double detached = seekBar.getValue();
+        assertEquals(0, AnimationClock.getInstance().getListenerCount());
+
+        idle(2 * DURATION_MS);
+        assertEquals(detached, seekBar.getValue(), 0d);
+    }
+}
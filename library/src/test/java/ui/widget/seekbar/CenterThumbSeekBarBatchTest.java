@@ -0,0 +1,134 @@
+package ui.widget.seekbar;
+
+import android.view.MotionEvent;
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies that the historical samples of a move are delivered in one batch, in order, through arrays
+ * that are reused from event to event.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class CenterThumbSeekBarBatchTest {
+
+    private static final int WIDTH = 400;
+    private static final int HEIGHT = 40;
+    private static final float Y = HEIGHT / 2f;
+
+    private CenterThumbSeekBar seekBar;
+    private float centerX;
+    private int batches;
+    private double[] lastValues;
+    private long[] lastEventTimes;
+    private int lastCount;
+    private final double[] copiedValues = new double[64];
+    private final long[] copiedEventTimes = new long[64];
+
+    @Before
+    public void setUp() {
+        seekBar = new CenterThumbSeekBar(RuntimeEnvironment.application);
+        seekBar.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        seekBar.layout(0, 0, WIDTH, HEIGHT);
+        centerX = WIDTH / 2f;
+        seekBar.setOnValueBatchListener(new CenterThumbSeekBar.OnValueBatchListener() {
+            @Override
+            public void onValueBatch(double[] values, long[] eventTimes, int count) {
+                batches++;
+                lastValues = values;
+                lastEventTimes = eventTimes;
+                lastCount = count;
+                System.arraycopy(values, 0, copiedValues, 0, count);
+                System.arraycopy(eventTimes, 0, copiedEventTimes, 0, count);
+            }
+        });
+    }
+
+    @Test
+    public void move_deliversHistoricalSamplesInOrder() {
+        down();
+        MotionEvent move = move(100L, centerX + 30f, 4);
+        seekBar.onTouchEvent(move);
+        move.recycle();
+
+        assertEquals(5, lastCount);
+        for (int i = 0; i < lastCount; i++) {
+            assertEquals(100L + i * 4L, copiedEventTimes[i]);
+            if (i > 0) {
+                assertTrue(copiedValues[i] > copiedValues[i - 1]);
+            }
+        }
+        // the last sample is the current position, the value the thumb shows.
+        assertEquals(seekBar.getValue(), copiedValues[lastCount - 1], 1e-9);
+    }
+
+    @Test
+    public void batchArrays_areReusedAcrossEvents() {
+        down();
+        MotionEvent first = move(100L, centerX + 30f, 4);
+        seekBar.onTouchEvent(first);
+        first.recycle();
+        double[] values = lastValues;
+        long[] eventTimes = lastEventTimes;
+
+        for (int i = 0; i < 100; i++) {
+            MotionEvent move = move(200L + i * 20L, centerX + 40f + (i % 20), 3);
+            seekBar.onTouchEvent(move);
+            move.recycle();
+            assertSame(values, lastValues);
+            assertSame(eventTimes, lastEventTimes);
+        }
+        assertEquals(101, batches);
+    }
+
+    @Test
+    public void batchArrays_growOnlyForLargerBatches() {
+        down();
+        int capacity = Const.DEFAULT_BATCH_CAPACITY;
+        MotionEvent small = move(100L, centerX + 30f, capacity - 1);
+        seekBar.onTouchEvent(small);
+        small.recycle();
+        double[] values = lastValues;
+        assertEquals(capacity, values.length);
+
+        MotionEvent large = move(300L, centerX + 60f, capacity + 4);
+        seekBar.onTouchEvent(large);
+        large.recycle();
+
+        assertNotSame(values, lastValues);
+        assertEquals(capacity + 5, lastCount);
+        assertTrue(lastValues.length >= 2 * capacity);
+    }
+
+    private void down() {
+        MotionEvent event = MotionEvent.obtain(0L, 0L, MotionEvent.ACTION_DOWN, centerX, Y, 0);
+        seekBar.onTouchEvent(event);
+        event.recycle();
+        // cross the touch slop so the following moves are tracked.
+        MotionEvent slop = MotionEvent.obtain(0L, 50L, MotionEvent.ACTION_MOVE, centerX + 20f, Y, 0);
+        seekBar.onTouchEvent(slop);
+        slop.recycle();
+        batches = 0;
+    }
+
+    /**
+     * Creates a move with the given number of historical samples 4 ms and 1 px apart, ending at x.
+     */
+    private static MotionEvent move(long startTime, float x, int historySize) {
+        MotionEvent event = MotionEvent.obtain(0L, startTime, MotionEvent.ACTION_MOVE, x - historySize, Y, 0);
+        for (int i = 1; i <= historySize; i++) {
+            event.addBatch(startTime + i * 4L, x - historySize + i, Y, 1f, 1f, 0);
+        }
+        return event;
+    }
+}
@@ -0,0 +1,121 @@
+package ui.widget.seekbar;
+
+import android.app.Activity;
+import android.graphics.Bitmap;
+import android.graphics.Color;
+import android.view.KeyEvent;
+import android.view.MotionEvent;
+import android.widget.FrameLayout;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies that rebinding a laid out view, as done by a RecyclerView adapter, only relayouts when the thumb
+ * size changes, never rasterizes the thumb again and drops the touch and step state of the previous row.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class CenterThumbSeekBarBindTest {
+
+    private static final int THUMB_RESOURCE = android.R.drawable.btn_default;
+    private static final int THUMB_SIZE = 36;
+
+    private Activity activity;
+    private CenterThumbSeekBar seekBar;
+
+    @Before
+    public void setUp() {
+        ThumbBitmapCache.clear();
+        activity = Robolectric.buildActivity(Activity.class).setup().get();
+        FrameLayout parent = new FrameLayout(activity);
+        activity.setContentView(parent);
+        seekBar = new CenterThumbSeekBar(activity);
+        parent.addView(seekBar, new FrameLayout.LayoutParams(400, 40));
+        nextFrame();
+    }
+
+    private static void nextFrame() {
+        ShadowLooper.idleMainLooper(100, TimeUnit.MILLISECONDS);
+    }
+
+    private void send(int action, float x) {
+        MotionEvent event = MotionEvent.obtain(0L, 0L, action, x, 20f, 0);
+        seekBar.onTouchEvent(event);
+        event.recycle();
+    }
+
+    @Test
+    public void bind_sameOrEqualSizeConfig_doesNotRelayoutOrRasterizeThumb() {
+        ThumbImage thumb = ThumbImage.fromDrawable(activity, THUMB_RESOURCE, TestDrawables.oval(THUMB_SIZE));
+        SeekBarConfig config = new SeekBarConfig.Builder(activity).setThumbImages(thumb, thumb).build();
+        seekBar.bind(config, 0d);
+        nextFrame();
+        assertFalse(seekBar.isLayoutRequested());
+        Bitmap bitmap = seekBar.getRenderer().getThumbImage().getBitmap();
+
+        seekBar.bind(config, 10d);
+        assertFalse(seekBar.isLayoutRequested());
+        assertSame(bitmap, seekBar.getRenderer().getThumbImage().getBitmap());
+
+        // a new row with an equal thumb, only the colors differ.
+        ThumbImage sameThumb = ThumbImage.fromDrawable(activity, THUMB_RESOURCE, TestDrawables.oval(THUMB_SIZE));
+        seekBar.bind(new SeekBarConfig.Builder(config)
+                .setThumbImages(sameThumb, sameThumb)
+                .setTrackColor(Color.RED)
+                .build(), 20d);
+        assertFalse(seekBar.isLayoutRequested());
+        assertSame(bitmap, seekBar.getRenderer().getThumbImage().getBitmap());
+        assertEquals(20d, seekBar.getValue(), 1e-9);
+    }
+
+    @Test
+    public void bind_largerThumb_requestsLayout() {
+        SeekBarConfig config = seekBar.getConfig();
+        seekBar.bind(new SeekBarConfig.Builder(config)
+                .setThumbRadius(2f * SeekBarRenderer.getThumbRadius(config))
+                .setThumbPressedRadius(2f * SeekBarRenderer.getThumbPressedRadius(config))
+                .build(), 0d);
+
+        assertTrue(seekBar.isLayoutRequested());
+    }
+
+    @Test
+    public void bind_dropsPressedThumb() {
+        send(MotionEvent.ACTION_DOWN, seekBar.getThumbX());
+        assertTrue(seekBar.isPressed());
+
+        seekBar.bind(seekBar.getConfig(), 10d);
+        assertFalse(seekBar.isPressed());
+
+        // the rest of the gesture belongs to the previous row.
+        send(MotionEvent.ACTION_MOVE, 350f);
+        send(MotionEvent.ACTION_UP, 350f);
+        assertEquals(10d, seekBar.getValue(), 1e-9);
+    }
+
+    @Test
+    public void bind_inStepMode_snapsAndStepsFromBoundValue() {
+        seekBar.setStepSize(10d);
+        seekBar.setValue(-60d);
+        nextFrame();
+
+        seekBar.bind(seekBar.getConfig(), 23d);
+        assertEquals(20d, seekBar.getValue(), 1e-9);
+
+        seekBar.onKeyDown(KeyEvent.KEYCODE_DPAD_RIGHT,
+                new KeyEvent(0L, 0L, KeyEvent.ACTION_DOWN, KeyEvent.KEYCODE_DPAD_RIGHT, 0));
+        nextFrame();
+        assertEquals(30d, seekBar.getValue(), 1e-9);
+    }
+}
@@ -0,0 +1,148 @@
+package ui.widget.seekbar;
+
+import android.app.Activity;
+import android.view.MotionEvent;
+import android.widget.FrameLayout;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies the listener callbacks of {@link ValueDispatchMode#IMMEDIATE} and
+ * {@link ValueDispatchMode#COALESCED} while dragging, the settled callback on release and the
+ * minimum value delta.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class CenterThumbSeekBarDispatchTest {
+
+    private static final int WIDTH = 400;
+    private static final int HEIGHT = 40;
+
+    private CenterThumbSeekBar seekBar;
+    private final List<Double> values = new ArrayList<>();
+    private float centerX;
+    private long time;
+
+    @Before
+    public void setUp() {
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        FrameLayout layout = new FrameLayout(activity);
+        seekBar = new CenterThumbSeekBar(activity);
+        layout.addView(seekBar, new FrameLayout.LayoutParams(WIDTH, HEIGHT));
+        activity.setContentView(layout);
+        nextFrame();
+        centerX = seekBar.getWidth() / 2f;
+
+        seekBar.setOnValueChangeListener(new CenterThumbSeekBar.OnValueChangeListener() {
+            @Override
+            public void onValueChange(ThumbDirection direction, double value) {
+                values.add(direction == ThumbDirection.LEFT ? -value : value);
+            }
+        });
+    }
+
+    @Test
+    public void immediate_notifiesEveryMove() {
+        touch(MotionEvent.ACTION_DOWN, centerX);
+        for (int i = 1; i <= 10; i++) {
+            touch(MotionEvent.ACTION_MOVE, centerX + 20f + i);
+        }
+
+        assertEquals(10, values.size());
+    }
+
+    @Test
+    public void coalesced_notifiesAtMostOncePerFrame() {
+        seekBar.setValueDispatchMode(ValueDispatchMode.COALESCED);
+        touch(MotionEvent.ACTION_DOWN, centerX);
+        for (int i = 1; i <= 10; i++) {
+            touch(MotionEvent.ACTION_MOVE, centerX + 20f + i);
+        }
+        assertEquals(0, values.size());
+
+        nextFrame();
+        assertEquals(1, values.size());
+        assertEquals(seekBar.getValue(), values.get(0), 1e-9);
+
+        for (int i = 1; i <= 10; i++) {
+            touch(MotionEvent.ACTION_MOVE, centerX + 40f + i);
+        }
+        nextFrame();
+        nextFrame();
+        assertEquals(2, values.size());
+    }
+
+    @Test
+    public void coalesced_dropsUnchangedValues() {
+        seekBar.setValueDispatchMode(ValueDispatchMode.COALESCED);
+        touch(MotionEvent.ACTION_DOWN, centerX);
+        touch(MotionEvent.ACTION_MOVE, centerX + 30f);
+        nextFrame();
+
+        touch(MotionEvent.ACTION_MOVE, centerX + 30f);
+        nextFrame();
+
+        assertEquals(1, values.size());
+    }
+
+    @Test
+    public void coalesced_releaseDeliversSettledValueOnce() {
+        seekBar.setValueDispatchMode(ValueDispatchMode.COALESCED);
+        touch(MotionEvent.ACTION_DOWN, centerX);
+        for (int i = 1; i <= 10; i++) {
+            touch(MotionEvent.ACTION_MOVE, centerX + 20f + i);
+        }
+        touch(MotionEvent.ACTION_UP, centerX + 60f);
+        nextFrame();
+
+        // the pending frame callback is folded into the settled one.
+        assertEquals(1, values.size());
+        assertEquals(seekBar.getValue(), values.get(0), 1e-9);
+    }
+
+    @Test
+    public void minValueDelta_suppressesSmallChangesUntilRelease() {
+        seekBar.setValueDispatchMode(ValueDispatchMode.COALESCED);
+        seekBar.setMinValueDelta(20d);
+        touch(MotionEvent.ACTION_DOWN, centerX);
+        touch(MotionEvent.ACTION_MOVE, centerX + 20f);
+        nextFrame();
+        assertEquals(1, values.size());
+        double first = values.get(0);
+
+        // a few pixels are well below 20 value units.
+        touch(MotionEvent.ACTION_MOVE, centerX + 24f);
+        nextFrame();
+        assertEquals(1, values.size());
+
+        touch(MotionEvent.ACTION_MOVE, centerX + 120f);
+        nextFrame();
+        assertEquals(2, values.size());
+        assertTrue(values.get(1) - first >= 20d);
+
+        // the settled value is delivered regardless of the threshold.
+        touch(MotionEvent.ACTION_UP, centerX + 122f);
+        assertEquals(3, values.size());
+    }
+
+    private void touch(int action, float x) {
+        MotionEvent event = MotionEvent.obtain(0L, time += 8, action, x, HEIGHT / 2f, 0);
+        seekBar.onTouchEvent(event);
+        event.recycle();
+    }
+
+    private static void nextFrame() {
+        ShadowLooper.idleMainLooper(20, TimeUnit.MILLISECONDS);
+    }
+}
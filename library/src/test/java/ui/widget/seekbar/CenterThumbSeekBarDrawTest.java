@@ -0,0 +1,141 @@
+package ui.widget.seekbar;
+
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(RobolectricTestRunner.class)
+public class CenterThumbSeekBarDrawTest {
+
+    private static final int WARM_UP_FRAMES = 10_000;
+    private static final int MEASURED_FRAMES = 10_000;
+
+    private CenterThumbSeekBar seekBar;
+    private CountingCanvas canvas;
+
+    @Before
+    public void setUp() {
+        seekBar = layout(new CenterThumbSeekBar(RuntimeEnvironment.application));
+        canvas = new CountingCanvas();
+    }
+
+    private static CenterThumbSeekBar layout(CenterThumbSeekBar seekBar) {
+        seekBar.measure(View.MeasureSpec.makeMeasureSpec(400, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(40, View.MeasureSpec.EXACTLY));
+        seekBar.layout(0, 0, 400, 40);
+        return seekBar;
+    }
+
+    private static CenterThumbSeekBar withProgress(String toProgress) {
+        return layout(new CenterThumbSeekBar(RuntimeEnvironment.application, Robolectric.buildAttributeSet()
+                .addAttribute(R.attr.toProgress, toProgress)
+                .build()));
+    }
+
+    @Test
+    public void onDraw_allocatesNothingPerFrame() {
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        for (int i = 0; i < WARM_UP_FRAMES; i++) {
+            seekBar.onDraw(canvas);
+        }
+
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_FRAMES; i++) {
+            seekBar.onDraw(canvas);
+        }
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+
+        assertEquals(0L, allocated);
+    }
+
+    @Test
+    public void onDraw_valueLabelAddsOneTextCallWithoutAllocating() {
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        seekBar.setValueLabelEnabled(true);
+        seekBar.setValueLabelFormat(1, null, " %");
+
+        for (int i = 0; i < WARM_UP_FRAMES; i++) {
+            seekBar.onDraw(canvas);
+        }
+        canvas.reset();
+
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_FRAMES; i++) {
+            seekBar.onDraw(canvas);
+        }
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+
+        assertEquals(0L, allocated);
+        assertEquals(4 * MEASURED_FRAMES, canvas.drawOps);
+    }
+
+    @Test
+    public void onDraw_issuesTrackProgressAndThumb() {
+        seekBar.onDraw(canvas);
+        assertEquals(3, canvas.drawOps);
+    }
+
+    @Test
+    public void onDraw_replaysStaticTrackAndTicksInsteadOfReissuingThem() {
+        seekBar.setStepSize(10);
+        SeekBarRenderer renderer = seekBar.getRenderer();
+
+        for (int i = 0; i < 100; i++) {
+            seekBar.bind(seekBar.getConfig(), i - 50);
+            seekBar.onDraw(canvas);
+        }
+
+        assertEquals(1, renderer.getStaticLayerRecordCount());
+        assertEquals(100, canvas.pictureOps);
+        assertEquals(0, canvas.lineOps);
+        // only the progress segment is drawn as a rect, the track comes from the picture.
+        assertEquals(100, canvas.rectOps);
+    }
+
+    @Test
+    public void onDraw_recordsStaticLayerAgainOnlyAfterSizeOrStyleChange() {
+        SeekBarRenderer renderer = seekBar.getRenderer();
+        seekBar.onDraw(canvas);
+        seekBar.onDraw(canvas);
+        assertEquals(1, renderer.getStaticLayerRecordCount());
+
+        seekBar.measure(View.MeasureSpec.makeMeasureSpec(300, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(40, View.MeasureSpec.EXACTLY));
+        seekBar.layout(0, 0, 300, 40);
+        seekBar.onDraw(canvas);
+        seekBar.onDraw(canvas);
+        assertEquals(2, renderer.getStaticLayerRecordCount());
+
+        seekBar.setTickColor(0xff00ff00);
+        seekBar.onDraw(canvas);
+        seekBar.onDraw(canvas);
+        assertEquals(3, renderer.getStaticLayerRecordCount());
+    }
+
+    @Test
+    public void onDraw_gradientTrackDrawsTrackAndProgressAtOnce() {
+        CenterThumbSeekBar progressSeekBar = withProgress("50");
+
+        progressSeekBar.onDraw(canvas);
+        int separateOps = canvas.drawOps;
+
+        canvas.reset();
+        progressSeekBar.setGradientTrackEnabled(true);
+        progressSeekBar.onDraw(canvas);
+
+        assertEquals(3, separateOps);
+        assertEquals(2, canvas.drawOps);
+    }
+}
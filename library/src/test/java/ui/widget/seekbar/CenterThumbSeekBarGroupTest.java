@@ -0,0 +1,188 @@
+package ui.widget.seekbar;
+
+import android.view.MotionEvent;
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Drives two fingers on a two channel group, each channel row is 40px high and all thumbs start at the
+ * center x = 200.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class CenterThumbSeekBarGroupTest {
+
+    private static final float CENTER_X = 200f;
+    private static final float CHANNEL_0_Y = 20f;
+    private static final float CHANNEL_1_Y = 60f;
+
+    private CenterThumbSeekBarGroup group;
+    private final List<Integer> changedChannels = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        group = new CenterThumbSeekBarGroup(RuntimeEnvironment.application, Robolectric.buildAttributeSet()
+                .addAttribute(R.attr.channelCount, "2")
+                .build());
+        group.measure(View.MeasureSpec.makeMeasureSpec(400, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(80, View.MeasureSpec.EXACTLY));
+        group.layout(0, 0, 400, 80);
+        group.setOnChannelValueChangeListener(new CenterThumbSeekBarGroup.OnChannelValueChangeListener() {
+            @Override
+            public void onValueChange(int channel, double value) {
+                changedChannels.add(channel);
+            }
+        });
+    }
+
+    /**
+     * Obtains an event for the given pointers, {@code points} holds an x/y pair per pointer id.
+     */
+    private static MotionEvent event(int action, float... points) {
+        final int pointerCount = points.length / 2;
+        MotionEvent.PointerProperties[] properties = new MotionEvent.PointerProperties[pointerCount];
+        MotionEvent.PointerCoords[] coords = new MotionEvent.PointerCoords[pointerCount];
+        for (int p = 0; p < pointerCount; p++) {
+            properties[p] = new MotionEvent.PointerProperties();
+            properties[p].id = p;
+            properties[p].toolType = MotionEvent.TOOL_TYPE_FINGER;
+            coords[p] = new MotionEvent.PointerCoords();
+            coords[p].x = points[2 * p];
+            coords[p].y = points[2 * p + 1];
+        }
+        return MotionEvent.obtain(0L, 0L, action, pointerCount, properties, coords, 0, 0, 1f, 1f, 0, 0, 0, 0);
+    }
+
+    private boolean send(int action, float... points) {
+        MotionEvent event = event(action, points);
+        boolean handled = group.onTouchEvent(event);
+        event.recycle();
+        return handled;
+    }
+
+    private static int pointerDown(int pointerIndex) {
+        return MotionEvent.ACTION_POINTER_DOWN | (pointerIndex << MotionEvent.ACTION_POINTER_INDEX_SHIFT);
+    }
+
+    private static int pointerUp(int pointerIndex) {
+        return MotionEvent.ACTION_POINTER_UP | (pointerIndex << MotionEvent.ACTION_POINTER_INDEX_SHIFT);
+    }
+
+    @Test
+    public void twoPointers_eachMoveOnlyTheirOwnChannel() {
+        assertTrue(send(MotionEvent.ACTION_DOWN, CENTER_X, CHANNEL_0_Y));
+        assertTrue(send(pointerDown(1), CENTER_X, CHANNEL_0_Y, CENTER_X, CHANNEL_1_Y));
+
+        send(MotionEvent.ACTION_MOVE, 300f, CHANNEL_0_Y, 100f, CHANNEL_1_Y);
+        double channel0 = group.getValue(0);
+        assertTrue(channel0 > 0d);
+        assertTrue(group.getValue(1) < 0d);
+
+        changedChannels.clear();
+        send(MotionEvent.ACTION_MOVE, 300f, CHANNEL_0_Y, 50f, CHANNEL_1_Y);
+        assertEquals(channel0, group.getValue(0), 0d);
+        assertEquals(1, changedChannels.size());
+        assertEquals(1, (int) changedChannels.get(0));
+    }
+
+    @Test
+    public void pointerUp_releasesOnlyItsChannel() {
+        send(MotionEvent.ACTION_DOWN, CENTER_X, CHANNEL_0_Y);
+        send(pointerDown(1), CENTER_X, CHANNEL_0_Y, CENTER_X, CHANNEL_1_Y);
+        send(pointerUp(0), 250f, CHANNEL_0_Y, CENTER_X, CHANNEL_1_Y);
+        double channel0 = group.getValue(0);
+
+        send(MotionEvent.ACTION_MOVE, 350f, CHANNEL_0_Y, 150f, CHANNEL_1_Y);
+
+        assertEquals(channel0, group.getValue(0), 0d);
+        assertTrue(group.getValue(1) < 0d);
+    }
+
+    @Test
+    public void hitTest_usesTheRowUnderThePointer() {
+        // touches the row of channel 1 at the thumb x, only that channel may follow.
+        send(MotionEvent.ACTION_DOWN, CENTER_X, CHANNEL_1_Y);
+        send(MotionEvent.ACTION_MOVE, 300f, CHANNEL_1_Y);
+
+        assertEquals(0d, group.getValue(0), 0d);
+        assertTrue(group.getValue(1) > 0d);
+    }
+
+    @Test
+    public void pressedThumb_isNotGrabbedBySecondPointer() {
+        send(MotionEvent.ACTION_DOWN, CENTER_X, CHANNEL_0_Y);
+        send(pointerDown(1), CENTER_X, CHANNEL_0_Y, CENTER_X, CHANNEL_0_Y);
+
+        send(MotionEvent.ACTION_MOVE, CENTER_X, CHANNEL_0_Y, 350f, CHANNEL_0_Y);
+
+        assertEquals(0d, group.getValue(0), 0d);
+        assertTrue(changedChannels.isEmpty());
+    }
+
+    @Test
+    public void downMissingThumbs_keepsGestureForNextPointer() {
+        assertTrue(send(MotionEvent.ACTION_DOWN, 350f, CHANNEL_0_Y));
+        send(MotionEvent.ACTION_MOVE, 300f, CHANNEL_0_Y);
+        assertTrue(changedChannels.isEmpty());
+
+        send(pointerDown(1), 300f, CHANNEL_0_Y, CENTER_X, CHANNEL_1_Y);
+        send(MotionEvent.ACTION_MOVE, 250f, CHANNEL_0_Y, 100f, CHANNEL_1_Y);
+
+        assertEquals(0d, group.getValue(0), 0d);
+        assertTrue(group.getValue(1) < 0d);
+    }
+
+    @Test
+    public void downOutsideTrackArea_isNotHandled() {
+        assertFalse(send(MotionEvent.ACTION_DOWN, 0f, CHANNEL_0_Y));
+    }
+
+    @Test
+    public void setConfig_withUnchangedSize_keepsRowsOfTheLaidOutHeight() {
+        group.setConfig(new SeekBarConfig.Builder(group.getConfig())
+                .setThumbRadius(4f)
+                .setThumbPressedRadius(5f)
+                .build());
+        // the same exact size does not call onSizeChanged again.
+        group.measure(View.MeasureSpec.makeMeasureSpec(400, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(80, View.MeasureSpec.EXACTLY));
+        group.layout(0, 0, 400, 80);
+
+        assertEquals(CHANNEL_0_Y, group.getRenderer(0).getTrackRect().centerY(), 1e-3f);
+        assertEquals(CHANNEL_1_Y, group.getRenderer(1).getTrackRect().centerY(), 1e-3f);
+
+        send(MotionEvent.ACTION_DOWN, CENTER_X, CHANNEL_1_Y);
+        send(MotionEvent.ACTION_MOVE, 300f, CHANNEL_1_Y);
+        assertEquals(0d, group.getValue(0), 0d);
+        assertTrue(group.getValue(1) > 0d);
+    }
+
+    @Test
+    public void onDraw_rendersEveryChannel() {
+        CountingCanvas canvas = new CountingCanvas();
+        CenterThumbSeekBar seekBar = new CenterThumbSeekBar(RuntimeEnvironment.application);
+        seekBar.measure(View.MeasureSpec.makeMeasureSpec(400, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(40, View.MeasureSpec.EXACTLY));
+        seekBar.layout(0, 0, 400, 40);
+        seekBar.onDraw(canvas);
+        int singleChannelOps = canvas.drawOps;
+        canvas.reset();
+
+        group.onDraw(canvas);
+
+        assertEquals(2 * singleChannelOps, canvas.drawOps);
+        assertEquals(2, canvas.pictureOps);
+    }
+}
@@ -0,0 +1,120 @@
+package ui.widget.seekbar;
+
+import android.app.Activity;
+import android.content.Context;
+import android.graphics.Rect;
+import android.widget.FrameLayout;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Records the regions invalidated in partial invalidation mode and checks that every region covers
+ * both the thumb position on screen and the new one, also after full invalidations in between.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class CenterThumbSeekBarInvalidationTest {
+
+    private static final int WIDTH = 400;
+    private static final int HEIGHT = 40;
+
+    private RecordingSeekBar seekBar;
+
+    @Before
+    public void setUp() {
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        FrameLayout layout = new FrameLayout(activity);
+        seekBar = new RecordingSeekBar(activity);
+        layout.addView(seekBar, new FrameLayout.LayoutParams(WIDTH, HEIGHT));
+        activity.setContentView(layout);
+        nextFrame();
+    }
+
+    @Test
+    public void partialMove_coversPreviousAndNewThumb() {
+        seekBar.setPartialInvalidationEnabled(true);
+        float from = seekBar.getThumbX();
+
+        moveTo(50d);
+
+        assertCoversThumbMove(from, seekBar.getThumbX());
+    }
+
+    @Test
+    public void partialMoveAfterBind_coversThumbPositionSetByBind() {
+        seekBar.setPartialInvalidationEnabled(true);
+        seekBar.bind(seekBar.getConfig(), 80d);
+        float bound = seekBar.getThumbX();
+
+        // between the former position at the center and the bound one.
+        moveTo(40d);
+
+        assertCoversThumbMove(bound, seekBar.getThumbX());
+    }
+
+    @Test
+    public void partialMoveAfterLabelChange_coversThumbPositionOfFullInvalidation() {
+        seekBar.setPartialInvalidationEnabled(true);
+        moveTo(80d);
+        seekBar.setValueLabelEnabled(true);
+        float labelled = seekBar.getThumbX();
+
+        moveTo(40d);
+
+        assertCoversThumbMove(labelled, seekBar.getThumbX());
+    }
+
+    @Test
+    public void enablingPartialMode_startsFromCurrentThumb() {
+        moveTo(80d);
+        float current = seekBar.getThumbX();
+        seekBar.setPartialInvalidationEnabled(true);
+
+        moveTo(40d);
+
+        assertCoversThumbMove(current, seekBar.getThumbX());
+    }
+
+    private void moveTo(double value) {
+        seekBar.setValue(value);
+        seekBar.dirtyRegions.clear();
+        nextFrame();
+    }
+
+    private void assertCoversThumbMove(float fromX, float toX) {
+        assertEquals(1, seekBar.dirtyRegions.size());
+        Rect dirty = seekBar.dirtyRegions.get(0);
+        assertTrue(dirty + " misses " + fromX, dirty.left < fromX && fromX < dirty.right);
+        assertTrue(dirty + " misses " + toX, dirty.left < toX && toX < dirty.right);
+    }
+
+    private static void nextFrame() {
+        ShadowLooper.idleMainLooper(20, TimeUnit.MILLISECONDS);
+    }
+
+    private static class RecordingSeekBar extends CenterThumbSeekBar {
+        final List<Rect> dirtyRegions = new ArrayList<>();
+
+        RecordingSeekBar(Context context) {
+            super(context);
+        }
+
+        @SuppressWarnings("deprecation")
+        @Override
+        public void invalidate(int l, int t, int r, int b) {
+            dirtyRegions.add(new Rect(l, t, r, b));
+            super.invalidate(l, t, r, b);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package ui.widget.seekbar;
+
+import android.app.Activity;
+import android.view.InputDevice;
+import android.view.KeyEvent;
+import android.view.MotionEvent;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies that key and rotary input accelerates while held and is applied once per frame.
+ * With the default range one step is one value unit.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class CenterThumbSeekBarKeyInputTest {
+
+    private CenterThumbSeekBar seekBar;
+    private SeekBarMetrics metrics;
+    private int callbacks;
+    private ThumbDirection lastDirection;
+
+    @Before
+    public void setUp() {
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        seekBar = new CenterThumbSeekBar(activity);
+        activity.setContentView(seekBar);
+        ShadowLooper.idleMainLooper(100, TimeUnit.MILLISECONDS);
+
+        metrics = new SeekBarMetrics(null);
+        seekBar.setMetrics(metrics);
+        seekBar.setOnValueChangeListener(new CenterThumbSeekBar.OnValueChangeListener() {
+            @Override
+            public void onValueChange(ThumbDirection direction, double value) {
+                callbacks++;
+                lastDirection = direction;
+            }
+        });
+    }
+
+    private boolean pressKey(int keyCode, long heldMillis, int repeatCount) {
+        return seekBar.onKeyDown(keyCode, new KeyEvent(0L, heldMillis, KeyEvent.ACTION_DOWN, keyCode, repeatCount));
+    }
+
+    private static void nextFrame() {
+        ShadowLooper.idleMainLooper(100, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void repeatBurst_appliesOneUpdatePerFrame() {
+        for (int i = 0; i < 5; i++) {
+            pressKey(KeyEvent.KEYCODE_DPAD_RIGHT, 0L, i);
+        }
+        assertEquals(0d, seekBar.getValue(), 1e-9);
+        assertEquals(0, callbacks);
+
+        nextFrame();
+
+        assertEquals(5d, seekBar.getValue(), 1e-9);
+        assertEquals(1, callbacks);
+        assertEquals(1L, metrics.getInvalidateCount());
+        assertEquals(ThumbDirection.RIGHT, lastDirection);
+    }
+
+    @Test
+    public void heldKey_growsStepWithTime() {
+        pressKey(KeyEvent.KEYCODE_DPAD_RIGHT, 0L, 0);
+        nextFrame();
+        assertEquals(1d, seekBar.getValue(), 1e-9);
+
+        // one more step every KEY_ACCELERATION_INTERVAL_MS.
+        pressKey(KeyEvent.KEYCODE_DPAD_RIGHT, 5 * Const.KEY_ACCELERATION_INTERVAL_MS, 10);
+        nextFrame();
+        assertEquals(7d, seekBar.getValue(), 1e-9);
+    }
+
+    @Test
+    public void heldKey_accelerationIsCappedAndClampedToRange() {
+        pressKey(KeyEvent.KEYCODE_DPAD_LEFT, 60_000L, 100);
+        nextFrame();
+        assertEquals(-Const.KEY_MAX_ACCELERATION, seekBar.getValue(), 1e-9);
+        assertEquals(ThumbDirection.LEFT, lastDirection);
+
+        for (int i = 0; i < 10; i++) {
+            pressKey(KeyEvent.KEYCODE_DPAD_LEFT, 60_000L, 100);
+            nextFrame();
+        }
+        assertEquals(Const.DEFAULT_MIN_VALUE, seekBar.getValue(), 0d);
+
+        int callbacksAtEnd = callbacks;
+        pressKey(KeyEvent.KEYCODE_DPAD_LEFT, 60_000L, 100);
+        nextFrame();
+        assertEquals(callbacksAtEnd, callbacks);
+    }
+
+    @Test
+    public void stepMode_movesByTicks() {
+        seekBar.setStepSize(10d);
+        pressKey(KeyEvent.KEYCODE_DPAD_RIGHT, 0L, 0);
+        pressKey(KeyEvent.KEYCODE_DPAD_RIGHT, 0L, 1);
+        nextFrame();
+
+        assertEquals(20d, seekBar.getValue(), 1e-9);
+        assertEquals(1, callbacks);
+    }
+
+    @Test
+    public void keyAtEndOfRange_isNotConsumed() {
+        seekBar.setValue(Const.DEFAULT_MIN_VALUE);
+        nextFrame();
+
+        // focus may leave the view sideways, like AbsSeekBar.
+        assertFalse(pressKey(KeyEvent.KEYCODE_DPAD_LEFT, 0L, 0));
+        nextFrame();
+        assertEquals(0, callbacks);
+        assertTrue(pressKey(KeyEvent.KEYCODE_DPAD_RIGHT, 0L, 0));
+    }
+
+    @Test
+    public void pendingStepsReachingEnd_stopConsumingKeys() {
+        seekBar.setStepSize(10d);
+        seekBar.setValue(90d);
+        nextFrame();
+
+        assertTrue(pressKey(KeyEvent.KEYCODE_DPAD_RIGHT, 0L, 0));
+        assertFalse(pressKey(KeyEvent.KEYCODE_DPAD_RIGHT, 0L, 1));
+        nextFrame();
+
+        assertEquals(Const.DEFAULT_MAX_VALUE, seekBar.getValue(), 1e-9);
+        assertEquals(1, callbacks);
+    }
+
+    @Test
+    public void otherKeys_areNotHandled() {
+        assertFalse(pressKey(KeyEvent.KEYCODE_DPAD_UP, 0L, 0));
+        nextFrame();
+        assertEquals(0, callbacks);
+    }
+
+    @Test
+    public void rotaryDetents_areCoalescedAndAccelerated() {
+        for (int i = 0; i < 4; i++) {
+            MotionEvent event = rotaryEvent(i * 10L, -1f);
+            seekBar.onGenericMotionEvent(event);
+            event.recycle();
+        }
+        nextFrame();
+
+        // clockwise detents within the streak timeout, all at the first acceleration level.
+        assertEquals(4d, seekBar.getValue(), 1e-9);
+        assertEquals(1, callbacks);
+    }
+
+    private static MotionEvent rotaryEvent(long eventTime, float scroll) {
+        MotionEvent.PointerProperties properties = new MotionEvent.PointerProperties();
+        properties.id = 0;
+        MotionEvent.PointerCoords coords = new MotionEvent.PointerCoords();
+        coords.setAxisValue(MotionEvent.AXIS_SCROLL, scroll);
+        return MotionEvent.obtain(0L, eventTime, MotionEvent.ACTION_SCROLL, 1,
+                new MotionEvent.PointerProperties[]{properties}, new MotionEvent.PointerCoords[]{coords},
+                0, 0, 1f, 1f, 0, 0, InputDevice.SOURCE_ROTARY_ENCODER, 0);
+    }
+}
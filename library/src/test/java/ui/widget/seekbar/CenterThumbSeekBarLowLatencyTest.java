@@ -0,0 +1,118 @@
+package ui.widget.seekbar;
+
+import android.view.MotionEvent;
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Drives the same drags into a seek bar with low latency tracking and into a reference seek bar without,
+ * the reference thumb is drawn exactly under the finger.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class CenterThumbSeekBarLowLatencyTest {
+
+    private static final float Y = 20f;
+    private static final long FRAME_MS = 8L;
+
+    private CenterThumbSeekBar seekBar;
+    private CenterThumbSeekBar reference;
+    private final List<Double> values = new ArrayList<>();
+    private final List<Double> referenceValues = new ArrayList<>();
+    private float maxLead;
+    private long time;
+
+    @Before
+    public void setUp() {
+        seekBar = addSeekBar(values);
+        seekBar.setLowLatencyTrackingEnabled(true);
+        reference = addSeekBar(referenceValues);
+        SeekBarRenderer renderer = seekBar.getRenderer();
+        maxLead = 2 * Math.max(renderer.getThumbRadius(), renderer.getThumbPressedRadius());
+    }
+
+    private static CenterThumbSeekBar addSeekBar(final List<Double> values) {
+        CenterThumbSeekBar view = new CenterThumbSeekBar(RuntimeEnvironment.application);
+        view.measure(View.MeasureSpec.makeMeasureSpec(400, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(40, View.MeasureSpec.EXACTLY));
+        view.layout(0, 0, 400, 40);
+        view.setOnValueChangeListener(new CenterThumbSeekBar.OnValueChangeListener() {
+            @Override
+            public void onValueChange(ThumbDirection direction, double value) {
+                values.add(direction == ThumbDirection.LEFT ? -value : value);
+            }
+        });
+        return view;
+    }
+
+    private void send(int action, float x) {
+        MotionEvent event = MotionEvent.obtain(0L, time, action, x, Y, 0);
+        seekBar.onTouchEvent(event);
+        reference.onTouchEvent(event);
+        event.recycle();
+        time += FRAME_MS;
+    }
+
+    private float lead() {
+        return seekBar.getThumbX() - reference.getThumbX();
+    }
+
+    /**
+     * Drags the thumb to the right by {@code stepX} per frame, checking the lead cap and the reported
+     * value after every move.
+     */
+    private void drag(float stepX, int moves) {
+        float x = seekBar.getThumbX();
+        send(MotionEvent.ACTION_DOWN, x);
+        for (int i = 0; i < moves; i++) {
+            send(MotionEvent.ACTION_MOVE, x += stepX);
+            assertTrue(lead() <= maxLead);
+            assertEquals(reference.getValue(), seekBar.getValue(), 0d);
+        }
+    }
+
+    @Test
+    public void fastDrag_thumbLeadsTheFinger() {
+        drag(4f, 5);
+
+        // 0.5px/ms extrapolated by one frame, well below the cap.
+        assertEquals(0.5f * Const.PREDICTION_MILLIS, lead(), 1e-3f);
+        assertTrue(lead() < maxLead);
+    }
+
+    @Test
+    public void veryFastDrag_leadIsCapped() {
+        drag(40f, 3);
+
+        assertEquals(maxLead, lead(), 1e-3f);
+    }
+
+    @Test
+    public void release_clearsLead() {
+        drag(40f, 3);
+        send(MotionEvent.ACTION_UP, reference.getThumbX());
+
+        assertEquals(0f, lead(), 0f);
+        assertEquals(reference.getValue(), seekBar.getValue(), 0d);
+    }
+
+    @Test
+    public void listeners_reportUnpredictedValues() {
+        drag(4f, 5);
+        send(MotionEvent.ACTION_UP, reference.getThumbX());
+
+        assertEquals(0f, lead(), 0f);
+        assertEquals(referenceValues, values);
+        assertEquals(6, values.size());
+    }
+}
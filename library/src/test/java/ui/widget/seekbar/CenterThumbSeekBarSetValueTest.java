@@ -0,0 +1,110 @@
+package ui.widget.seekbar;
+
+import android.app.Activity;
+import android.view.KeyEvent;
+import android.widget.FrameLayout;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Verifies that values set from a background thread reach the thumb whether or not the view is attached,
+ * and that a rebind drops values not applied yet.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class CenterThumbSeekBarSetValueTest {
+
+    private Activity activity;
+    private CenterThumbSeekBar seekBar;
+
+    @Before
+    public void setUp() {
+        activity = Robolectric.buildActivity(Activity.class).setup().get();
+        seekBar = new CenterThumbSeekBar(activity);
+    }
+
+    private void setValueFromBackgroundThread(final double value) throws InterruptedException {
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                seekBar.setValue(value);
+            }
+        });
+        thread.start();
+        thread.join();
+    }
+
+    private static void nextFrame() {
+        ShadowLooper.idleMainLooper(20, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void backgroundThread_beforeAttach_isApplied() throws InterruptedException {
+        setValueFromBackgroundThread(40d);
+        nextFrame();
+        assertEquals(40d, seekBar.getValue(), 1e-9);
+
+        // the scheduled flag has been cleared, so later values are not dropped.
+        setValueFromBackgroundThread(-20d);
+        nextFrame();
+        assertEquals(-20d, seekBar.getValue(), 1e-9);
+    }
+
+    @Test
+    public void backgroundThread_afterDetach_isApplied() throws InterruptedException {
+        FrameLayout parent = new FrameLayout(activity);
+        activity.setContentView(parent);
+        parent.addView(seekBar, new FrameLayout.LayoutParams(400, 40));
+        nextFrame();
+        parent.removeView(seekBar);
+
+        setValueFromBackgroundThread(-25d);
+        nextFrame();
+        assertEquals(-25d, seekBar.getValue(), 1e-9);
+
+        setValueFromBackgroundThread(10d);
+        nextFrame();
+        assertEquals(10d, seekBar.getValue(), 1e-9);
+    }
+
+    @Test
+    public void backgroundThread_burst_keepsLatestValue() throws InterruptedException {
+        for (int i = 1; i <= 10; i++) {
+            setValueFromBackgroundThread(i * 5d);
+        }
+        nextFrame();
+        assertEquals(50d, seekBar.getValue(), 1e-9);
+    }
+
+    @Test
+    public void bind_dropsPendingValue() {
+        seekBar.setValue(40d);
+        seekBar.bind(seekBar.getConfig(), -15d);
+        nextFrame();
+        assertEquals(-15d, seekBar.getValue(), 1e-9);
+
+        // later values are still applied.
+        seekBar.setValue(25d);
+        nextFrame();
+        assertEquals(25d, seekBar.getValue(), 1e-9);
+    }
+
+    @Test
+    public void bind_dropsPendingKeySteps() {
+        activity.setContentView(seekBar);
+        nextFrame();
+        seekBar.onKeyDown(KeyEvent.KEYCODE_DPAD_RIGHT,
+                new KeyEvent(0L, 0L, KeyEvent.ACTION_DOWN, KeyEvent.KEYCODE_DPAD_RIGHT, 0));
+        seekBar.bind(seekBar.getConfig(), -15d);
+        nextFrame();
+        assertEquals(-15d, seekBar.getValue(), 1e-9);
+    }
+}
@@ -0,0 +1,123 @@
+package ui.widget.seekbar;
+
+import android.app.Activity;
+import android.view.MotionEvent;
+import android.view.View;
+import android.widget.FrameLayout;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class CenterThumbSeekBarSurfaceViewTest {
+
+    private CenterThumbSeekBarSurfaceView seekBar;
+    private final List<ThumbDirection> directions = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        seekBar = new CenterThumbSeekBarSurfaceView(RuntimeEnvironment.application);
+        seekBar.measure(View.MeasureSpec.makeMeasureSpec(400, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(40, View.MeasureSpec.EXACTLY));
+        seekBar.layout(0, 0, 400, 40);
+        seekBar.setOnValueChangeListener(new CenterThumbSeekBar.OnValueChangeListener() {
+            @Override
+            public void onValueChange(ThumbDirection direction, double value) {
+                directions.add(direction);
+            }
+        });
+    }
+
+    @Test
+    public void setValue_isVisibleFromOtherThreads() throws InterruptedException {
+        Thread producer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                seekBar.setValue(-42d);
+            }
+        });
+        producer.start();
+        producer.join();
+
+        assertEquals(-42d, seekBar.getValue(), 0d);
+    }
+
+    @Test
+    public void drag_onThumbMovesValueAndNotifiesOnUiThread() {
+        assertTrue(touch(MotionEvent.ACTION_DOWN, 200f));
+        touch(MotionEvent.ACTION_MOVE, 300f);
+        touch(MotionEvent.ACTION_MOVE, 100f);
+        touch(MotionEvent.ACTION_UP, 100f);
+
+        // one event per move plus the settled value on release, like CenterThumbSeekBar.
+        assertTrue(seekBar.getValue() < 0d);
+        assertEquals(3, directions.size());
+        assertEquals(ThumbDirection.RIGHT, directions.get(0));
+        assertEquals(ThumbDirection.LEFT, directions.get(1));
+        assertEquals(ThumbDirection.LEFT, directions.get(2));
+    }
+
+    @Test
+    public void coalesced_notifiesOncePerFrameAndOnRelease() {
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        FrameLayout layout = new FrameLayout(activity);
+        activity.setContentView(layout);
+        layout.addView(seekBar, new FrameLayout.LayoutParams(400, 40));
+        ShadowLooper.idleMainLooper(20, TimeUnit.MILLISECONDS);
+        seekBar.setValueDispatchMode(ValueDispatchMode.COALESCED);
+
+        touch(MotionEvent.ACTION_DOWN, 200f);
+        for (int i = 1; i <= 10; i++) {
+            touch(MotionEvent.ACTION_MOVE, 220f + i);
+        }
+        assertTrue(directions.isEmpty());
+
+        ShadowLooper.idleMainLooper(20, TimeUnit.MILLISECONDS);
+        assertEquals(1, directions.size());
+
+        touch(MotionEvent.ACTION_MOVE, 260f);
+        touch(MotionEvent.ACTION_UP, 260f);
+        assertEquals(2, directions.size());
+        assertEquals(ThumbDirection.RIGHT, directions.get(1));
+    }
+
+    @Test
+    public void down_besideThumbIsNotHandled() {
+        assertFalse(touch(MotionEvent.ACTION_DOWN, 350f));
+        touch(MotionEvent.ACTION_MOVE, 300f);
+
+        assertEquals(0d, seekBar.getValue(), 0d);
+        assertTrue(directions.isEmpty());
+    }
+
+    @Test
+    public void setValue_isDroppedWhileDragging() {
+        touch(MotionEvent.ACTION_DOWN, 200f);
+        touch(MotionEvent.ACTION_MOVE, 300f);
+        double dragged = seekBar.getValue();
+
+        seekBar.setValue(-80d);
+
+        assertEquals(dragged, seekBar.getValue(), 0d);
+    }
+
+    private boolean touch(int action, float x) {
+        MotionEvent event = MotionEvent.obtain(0, 0, action, x, 20f, 0);
+        boolean handled = seekBar.onTouchEvent(event);
+        event.recycle();
+        return handled;
+    }
+}
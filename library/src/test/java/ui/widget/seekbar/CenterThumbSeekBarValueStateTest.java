@@ -0,0 +1,110 @@
+package ui.widget.seekbar;
+
+import android.view.MotionEvent;
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies that the thumb direction and the reported values are derived on the touch path, without the
+ * view ever being drawn.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class CenterThumbSeekBarValueStateTest {
+
+    private CenterThumbSeekBar seekBar;
+    private final List<ThumbDirection> directions = new ArrayList<>();
+    private final List<Double> values = new ArrayList<>();
+    private int fromCalls;
+    private int toCalls;
+
+    @Before
+    public void setUp() {
+        seekBar = new CenterThumbSeekBar(RuntimeEnvironment.application);
+        seekBar.measure(View.MeasureSpec.makeMeasureSpec(400, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(40, View.MeasureSpec.EXACTLY));
+        seekBar.layout(0, 0, 400, 40);
+        seekBar.setOnValueChangeListener(new CenterThumbSeekBar.OnValueChangeListener() {
+            @Override
+            public void onValueChange(ThumbDirection direction, double value) {
+                directions.add(direction);
+                values.add(value);
+            }
+        });
+        seekBar.setOnFromValueChangeListener(new CenterThumbSeekBar.OnFromValueChangeListener() {
+            @Override
+            public void onValueChange(double value) {
+                fromCalls++;
+            }
+        });
+        seekBar.setOnToValueChangeListener(new CenterThumbSeekBar.OnToValueChangeListener() {
+            @Override
+            public void onValueChange(double value) {
+                toCalls++;
+            }
+        });
+    }
+
+    @Test
+    public void dragAcrossCenter_reportsDirectionOfEachEventWithoutDrawing() {
+        touch(MotionEvent.ACTION_DOWN, 200f);
+        touch(MotionEvent.ACTION_MOVE, 300f);
+        touch(MotionEvent.ACTION_MOVE, 100f);
+        touch(MotionEvent.ACTION_MOVE, 350f);
+        touch(MotionEvent.ACTION_UP, 350f);
+
+        // one event per move plus the settled value on release, each on the side of its own move
+        assertEquals(4, directions.size());
+        assertEquals(ThumbDirection.RIGHT, directions.get(0));
+        assertEquals(ThumbDirection.LEFT, directions.get(1));
+        assertEquals(ThumbDirection.RIGHT, directions.get(2));
+        assertEquals(ThumbDirection.RIGHT, directions.get(3));
+        assertEquals(1, fromCalls);
+        assertEquals(3, toCalls);
+        for (double value : values) {
+            assertTrue(value > 0d);
+        }
+    }
+
+    @Test
+    public void setValue_updatesDirectionWithoutDrawing() {
+        SeekBarMetrics metrics = new SeekBarMetrics(null);
+        seekBar.setMetrics(metrics);
+
+        seekBar.setValue(-10d);
+        ShadowLooper.idleMainLooper(20, TimeUnit.MILLISECONDS);
+        assertEquals(ThumbDirection.LEFT, seekBar.getThumbDirection());
+
+        seekBar.setValue(10d);
+        ShadowLooper.idleMainLooper(20, TimeUnit.MILLISECONDS);
+        assertEquals(ThumbDirection.RIGHT, seekBar.getThumbDirection());
+        assertEquals(0L, metrics.getDrawCount());
+    }
+
+    @Test
+    public void bind_updatesDirectionWithoutDrawing() {
+        seekBar.bind(seekBar.getConfig(), -10d);
+        assertEquals(ThumbDirection.LEFT, seekBar.getThumbDirection());
+
+        seekBar.bind(seekBar.getConfig(), 10d);
+        assertEquals(ThumbDirection.RIGHT, seekBar.getThumbDirection());
+    }
+
+    private void touch(int action, float x) {
+        MotionEvent event = MotionEvent.obtain(0, 0, action, x, 20f, 0);
+        seekBar.onTouchEvent(event);
+        event.recycle();
+    }
+}
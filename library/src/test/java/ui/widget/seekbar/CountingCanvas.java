@@ -0,0 +1,65 @@
+package ui.widget.seekbar;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Picture;
+import android.graphics.RectF;
+
+/**
+ * Canvas that swallows draw calls and only counts them, so tests can measure the draw path in isolation.
+ * Replaying a picture counts as a single draw op, the picture content is not issued to this canvas.
+ */
+class CountingCanvas extends Canvas {
+
+    int drawOps;
+    int rectOps;
+    int lineOps;
+    int pictureOps;
+
+    void reset() {
+        drawOps = 0;
+        rectOps = 0;
+        lineOps = 0;
+        pictureOps = 0;
+    }
+
+    @Override
+    public void drawRect(RectF rect, Paint paint) {
+        drawOps++;
+        rectOps++;
+    }
+
+    @Override
+    public void drawRoundRect(RectF rect, float rx, float ry, Paint paint) {
+        drawOps++;
+        rectOps++;
+    }
+
+    @Override
+    public void drawLines(float[] pts, Paint paint) {
+        drawOps++;
+        lineOps++;
+    }
+
+    @Override
+    public void drawPicture(Picture picture) {
+        drawOps++;
+        pictureOps++;
+    }
+
+    @Override
+    public void drawCircle(float cx, float cy, float radius, Paint paint) {
+        drawOps++;
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, float left, float top, Paint paint) {
+        drawOps++;
+    }
+
+    @Override
+    public void drawText(char[] text, int index, int count, float x, float y, Paint paint) {
+        drawOps++;
+    }
+}
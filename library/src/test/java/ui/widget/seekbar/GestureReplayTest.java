@@ -0,0 +1,213 @@
+package ui.widget.seekbar;
+
+import android.view.MotionEvent;
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Deterministic touch replay suite, replays recorded gestures into a {@link CenterThumbSeekBar} and
+ * checks events per second, allocations, listener calls and draws per gesture against fixed bounds.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class GestureReplayTest {
+
+    private static final int WIDTH = 400;
+    private static final int HEIGHT = 40;
+    private static final float Y = HEIGHT / 2f;
+    private static final int ITERATIONS = 200;
+    // far below what the JVM replays, only catches order of magnitude regressions.
+    private static final double MIN_EVENTS_PER_SECOND = 5_000d;
+    private static final long MAX_ALLOCATED_BYTES_PER_EVENT = 64L;
+
+    private CenterThumbSeekBar seekBar;
+    private float centerX;
+
+    @Before
+    public void setUp() {
+        seekBar = new CenterThumbSeekBar(RuntimeEnvironment.application);
+        seekBar.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        seekBar.layout(0, 0, WIDTH, HEIGHT);
+        centerX = WIDTH / 2f;
+    }
+
+    @Test
+    public void recording_roundTripsThroughBinaryFormat() throws IOException {
+        GestureRecording recording = multiPointerDrag();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        recording.writeTo(out);
+
+        GestureRecording copy = GestureRecording.readFrom(new ByteArrayInputStream(out.toByteArray()));
+
+        assertEquals(recording.getEventCount(), copy.getEventCount());
+        for (int i = 0; i < recording.getEventCount(); i++) {
+            assertEquals(recording.getAction(i), copy.getAction(i));
+            assertEquals(recording.getPointerCount(i), copy.getPointerCount(i));
+            assertEquals(recording.getHistorySize(i), copy.getHistorySize(i));
+            for (int h = 0; h <= recording.getHistorySize(i); h++) {
+                assertEquals(recording.getHistoricalEventTime(i, h), copy.getHistoricalEventTime(i, h));
+                for (int p = 0; p < recording.getPointerCount(i); p++) {
+                    assertEquals(recording.getPointerId(i, p), copy.getPointerId(i, p));
+                    assertEquals(recording.getHistoricalX(i, p, h), copy.getHistoricalX(i, p, h), 0f);
+                    assertEquals(recording.getHistoricalY(i, p, h), copy.getHistoricalY(i, p, h), 0f);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void record_keepsBatchedSamplesInOneEvent() {
+        GestureRecording recording = new GestureRecording();
+        MotionEvent down = MotionEvent.obtain(0L, 100L, MotionEvent.ACTION_DOWN, centerX, Y, 0);
+        MotionEvent move = MotionEvent.obtain(0L, 104L, MotionEvent.ACTION_MOVE, centerX + 5f, Y, 0);
+        move.addBatch(108L, centerX + 10f, Y, 1f, 1f, 0);
+        move.addBatch(112L, centerX + 15f, Y, 1f, 1f, 0);
+        MotionEvent up = MotionEvent.obtain(0L, 116L, MotionEvent.ACTION_UP, centerX, Y, 0);
+        recording.record(down);
+        recording.record(move);
+        recording.record(up);
+        down.recycle();
+        move.recycle();
+        up.recycle();
+
+        assertEquals(3, recording.getEventCount());
+        assertEquals(MotionEvent.ACTION_MOVE, recording.getActionMasked(1));
+        assertEquals(2, recording.getHistorySize(1));
+        assertEquals(4L, recording.getHistoricalEventTime(1, 0));
+        assertEquals(centerX + 10f, recording.getHistoricalX(1, 0, 1), 0f);
+        assertEquals(12L, recording.getEventTime(1));
+        assertEquals(centerX + 15f, recording.getX(1, 0), 0f);
+
+        // the replay delivers the batched move as one event, as the device did.
+        assertEquals(3 * ITERATIONS, replay(recording).events);
+    }
+
+    @Test(expected = IOException.class)
+    public void recording_rejectsForeignData() throws IOException {
+        GestureRecording.readFrom(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9}));
+    }
+
+    @Test
+    public void replay_singleDrag() {
+        assertWithinBounds(replay(singleDrag()));
+    }
+
+    @Test
+    public void replay_dragAcrossCenter() {
+        assertWithinBounds(replay(dragAcrossCenter()));
+    }
+
+    @Test
+    public void replay_multiPointerDrag() {
+        assertWithinBounds(replay(multiPointerDrag()));
+    }
+
+    @Test
+    public void replay_partialInvalidationSkipsUnchangedPointerEvents() {
+        GestureReplayer.Report full = replay(multiPointerDrag());
+        seekBar.setPartialInvalidationEnabled(true);
+        GestureReplayer.Report partial = replay(multiPointerDrag());
+
+        assertWithinBounds(partial);
+        assertTrue(partial + " vs " + full, partial.invalidations < full.invalidations);
+    }
+
+    private GestureReplayer.Report replay(GestureRecording recording) {
+        return GestureReplayer.replay(seekBar, recording, ITERATIONS);
+    }
+
+    /**
+     * Every recorded gesture moves the thumb, so each iteration notifies at least once but never more
+     * than once per event, and a frame is only drawn for an invalidating event.
+     */
+    private static void assertWithinBounds(GestureReplayer.Report report) {
+        String message = report.toString();
+        assertTrue(message, report.eventsPerSecond >= MIN_EVENTS_PER_SECOND);
+        assertTrue(message, report.allocatedBytes <= MAX_ALLOCATED_BYTES_PER_EVENT * report.events);
+        assertTrue(message, report.listenerCalls >= ITERATIONS);
+        assertTrue(message, report.listenerCalls <= report.events);
+        assertTrue(message, report.draws <= report.invalidations);
+        assertTrue(message, report.draws <= report.events);
+    }
+
+    private GestureRecording singleDrag() {
+        GestureRecording recording = new GestureRecording();
+        long time = 0;
+        add(recording, MotionEvent.ACTION_DOWN, 0, time, centerX);
+        for (int i = 1; i <= 30; i++) {
+            add(recording, MotionEvent.ACTION_MOVE, 0, time += 8, centerX + i * 5f);
+        }
+        add(recording, MotionEvent.ACTION_MOVE, 0, time += 8, centerX + 150f);
+        add(recording, MotionEvent.ACTION_UP, 0, time + 8, centerX + 150f);
+        // return to the center for the next iteration
+        add(recording, MotionEvent.ACTION_DOWN, 0, time + 16, centerX + 150f);
+        add(recording, MotionEvent.ACTION_UP, 0, time + 24, centerX);
+        return recording;
+    }
+
+    private GestureRecording dragAcrossCenter() {
+        GestureRecording recording = new GestureRecording();
+        long time = 0;
+        add(recording, MotionEvent.ACTION_DOWN, 0, time, centerX);
+        for (int i = 1; i <= 28; i++) {
+            add(recording, MotionEvent.ACTION_MOVE, 0, time += 8, centerX - i * 5f);
+        }
+        for (int i = -28; i <= 28; i++) {
+            add(recording, MotionEvent.ACTION_MOVE, 0, time += 8, centerX + i * 5f);
+        }
+        for (int i = 28; i >= 0; i--) {
+            add(recording, MotionEvent.ACTION_MOVE, 0, time += 8, centerX + i * 5f);
+        }
+        add(recording, MotionEvent.ACTION_UP, 0, time + 8, centerX);
+        return recording;
+    }
+
+    private GestureRecording multiPointerDrag() {
+        GestureRecording recording = new GestureRecording();
+        int[] ids = {0, 1};
+        float[] x = new float[2];
+        float[] y = {Y, Y};
+        long time = 0;
+
+        add(recording, MotionEvent.ACTION_DOWN, 0, time, centerX);
+        for (int i = 1; i <= 10; i++) {
+            add(recording, MotionEvent.ACTION_MOVE, 0, time += 8, centerX + i * 4f);
+        }
+
+        // second finger lands and becomes the active pointer
+        x[0] = centerX + 40f;
+        x[1] = centerX + 100f;
+        recording.addEvent(MotionEvent.ACTION_POINTER_DOWN, 1, time += 8, 2, ids, x, y);
+        for (int i = 1; i <= 10; i++) {
+            x[1] = centerX + 100f - i * 6f;
+            recording.addEvent(MotionEvent.ACTION_MOVE, 0, time += 8, 2, ids, x, y);
+            // a second sample batched into the same move, as delivered at high touch sample rates.
+            x[1] -= 3f;
+            recording.addBatch(time += 4, x, y);
+        }
+
+        // the active pointer goes up, tracking falls back to the first finger
+        recording.addEvent(MotionEvent.ACTION_POINTER_UP, 1, time += 8, 2, ids, x, y);
+        for (int i = 1; i <= 10; i++) {
+            add(recording, MotionEvent.ACTION_MOVE, 0, time += 8, centerX + 40f - i * 4f);
+        }
+        add(recording, MotionEvent.ACTION_UP, 0, time + 8, centerX);
+        return recording;
+    }
+
+    private static void add(GestureRecording recording, int action, int pointerId, long time, float x) {
+        recording.addEvent(action, 0, time, 1, new int[]{pointerId}, new float[]{x}, new float[]{Y});
+    }
+}
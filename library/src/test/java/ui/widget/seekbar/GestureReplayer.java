@@ -0,0 +1,124 @@
+package ui.widget.seekbar;
+
+import android.view.InputDevice;
+import android.view.MotionEvent;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Replays a {@link GestureRecording} into a laid out {@link CenterThumbSeekBar} and measures it. All
+ * motion events are obtained and replayed for warm up before the measurement starts, a frame is drawn
+ * after every event that invalidated the view.
+ */
+class GestureReplayer {
+
+    static Report replay(CenterThumbSeekBar seekBar, GestureRecording recording, int iterations) {
+        final MotionEvent[] events = obtainEvents(recording);
+        final CountingCanvas canvas = new CountingCanvas();
+        final SeekBarMetrics metrics = new SeekBarMetrics(null);
+        final Report report = new Report();
+        seekBar.setOnFromValueChangeListener(new CenterThumbSeekBar.OnFromValueChangeListener() {
+            @Override
+            public void onValueChange(double value) {
+                report.listenerCalls++;
+            }
+        });
+        seekBar.setOnToValueChangeListener(new CenterThumbSeekBar.OnToValueChangeListener() {
+            @Override
+            public void onValueChange(double value) {
+                report.listenerCalls++;
+            }
+        });
+        // loads and compiles the touch and draw paths so they are not part of the measurement.
+        replayEvents(seekBar, events, canvas, new SeekBarMetrics(null), Math.max(1, iterations / 10));
+        report.listenerCalls = 0;
+        canvas.reset();
+
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        replayEvents(seekBar, events, canvas, metrics, iterations);
+        long elapsedNanos = System.nanoTime() - start;
+        report.allocatedBytes = threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        report.events = events.length * iterations;
+        report.eventsPerSecond = report.events * 1e9 / Math.max(1, elapsedNanos);
+        report.draws = metrics.getDrawCount();
+        report.invalidations = metrics.getInvalidateCount();
+        report.drawOps = canvas.drawOps;
+
+        seekBar.setMetrics(null);
+        for (MotionEvent event : events) {
+            event.recycle();
+        }
+        return report;
+    }
+
+    private static void replayEvents(CenterThumbSeekBar seekBar, MotionEvent[] events, CountingCanvas canvas,
+                                     SeekBarMetrics metrics, int iterations) {
+        seekBar.setMetrics(metrics);
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            for (MotionEvent event : events) {
+                long invalidations = metrics.getInvalidateCount();
+                seekBar.onTouchEvent(event);
+                if (metrics.getInvalidateCount() != invalidations) {
+                    seekBar.onDraw(canvas);
+                }
+            }
+        }
+    }
+
+    /**
+     * Obtains one motion event per recorded event, batched historical samples are added back with
+     * {@link MotionEvent#addBatch(long, MotionEvent.PointerCoords[], int)}.
+     */
+    private static MotionEvent[] obtainEvents(GestureRecording recording) {
+        MotionEvent[] events = new MotionEvent[recording.getEventCount()];
+        for (int i = 0; i < events.length; i++) {
+            int pointerCount = recording.getPointerCount(i);
+            MotionEvent.PointerProperties[] properties = new MotionEvent.PointerProperties[pointerCount];
+            MotionEvent.PointerCoords[] coords = new MotionEvent.PointerCoords[pointerCount];
+            for (int p = 0; p < pointerCount; p++) {
+                properties[p] = new MotionEvent.PointerProperties();
+                properties[p].id = recording.getPointerId(i, p);
+                coords[p] = new MotionEvent.PointerCoords();
+                coords[p].pressure = 1f;
+                coords[p].size = 1f;
+            }
+            for (int h = 0; h <= recording.getHistorySize(i); h++) {
+                for (int p = 0; p < pointerCount; p++) {
+                    coords[p].x = recording.getHistoricalX(i, p, h);
+                    coords[p].y = recording.getHistoricalY(i, p, h);
+                }
+                long time = recording.getHistoricalEventTime(i, h);
+                if (h == 0) {
+                    events[i] = MotionEvent.obtain(0, time, recording.getAction(i), pointerCount,
+                            properties, coords, 0, 0, 1f, 1f, 0, 0, InputDevice.SOURCE_TOUCHSCREEN, 0);
+                } else {
+                    events[i].addBatch(time, coords, 0);
+                }
+            }
+        }
+        return events;
+    }
+
+    static class Report {
+        int events;
+        double eventsPerSecond;
+        long allocatedBytes;
+        int listenerCalls;
+        long draws;
+        long invalidations;
+        int drawOps;
+
+        @Override
+        public String toString() {
+            return String.format(java.util.Locale.US,
+                    "events=%d events/s=%.0f allocated=%dB (%.1fB/event) listenerCalls=%d draws=%d invalidations=%d drawOps=%d",
+                    events, eventsPerSecond, allocatedBytes, (double) allocatedBytes / Math.max(1, events),
+                    listenerCalls, draws, invalidations, drawOps);
+        }
+    }
+}
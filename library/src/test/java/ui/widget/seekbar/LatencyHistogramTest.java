@@ -0,0 +1,45 @@
+package ui.widget.seekbar;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void record_bucketsByPowerOfTwoMicros() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(500L);
+        histogram.record(1_500L);
+        histogram.record(3_000_000L);
+
+        assertEquals(3, histogram.getCount());
+        assertEquals(1, histogram.getBucket(0));
+        assertEquals(1, histogram.getBucket(1));
+        assertEquals(1, histogram.getBucket(12));
+        assertEquals(3_000_000L, histogram.getMaxNanos());
+    }
+
+    @Test
+    public void percentile_returnsBucketUpperBound() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(5_000L);
+        }
+        histogram.record(20_000_000L);
+
+        assertEquals(8_000L, histogram.getPercentileNanos(50d));
+        assertEquals(8_000L, histogram.getPercentileNanos(99d));
+        assertEquals(20_000_000L, histogram.getPercentileNanos(100d));
+    }
+
+    @Test
+    public void reset_clearsAllSamples() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(5_000L);
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentileNanos(50d));
+    }
+}
@@ -0,0 +1,180 @@
+package ui.widget.seekbar;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the range engine properties on randomly generated ranges and values, the seed is fixed so
+ * failures can be reproduced.
+ */
+public class RangeEngineTest {
+
+    private static final int RANGES = 200;
+    private static final int SAMPLES = 500;
+    private static final double EPSILON = 1e-12;
+
+    private final Random random = new Random(42);
+
+    /**
+     * Returns a magnitude between 1e-6 and 1e7, spread evenly over the decades.
+     */
+    private double randomMagnitude() {
+        return Math.pow(10d, -6d + 13d * random.nextDouble());
+    }
+
+    private RangeEngine randomEngine(ResponseCurve curve) {
+        RangeEngine engine = new RangeEngine(-randomMagnitude(), randomMagnitude());
+        engine.setResponseCurve(curve);
+        return engine;
+    }
+
+    @Test
+    public void endpointsAndCenter_mapExactly() {
+        for (ResponseCurve curve : ResponseCurve.values()) {
+            for (int r = 0; r < RANGES; r++) {
+                RangeEngine engine = randomEngine(curve);
+                double from = engine.getFromMagnitude();
+                double to = engine.getToMagnitude();
+
+                assertEquals(-from, engine.normalizedToValue(0d), 0d);
+                assertEquals(0d, engine.normalizedToValue(RangeEngine.CENTER), 0d);
+                assertEquals(to, engine.normalizedToValue(1d), 0d);
+                assertEquals(0d, engine.valueToNormalized(-from), 0d);
+                assertEquals(RangeEngine.CENTER, engine.valueToNormalized(0d), 0d);
+                assertEquals(1d, engine.valueToNormalized(to), 0d);
+            }
+        }
+    }
+
+    @Test
+    public void calibrationRanges_mapExactly() {
+        RangeEngine engine = new RangeEngine(-0.0005d, 0.0005d);
+        assertEquals(-0.0005d, engine.normalizedToValue(0d), 0d);
+        assertEquals(0.0005d, engine.normalizedToValue(1d), 0d);
+        assertEquals(0.00025d, engine.normalizedToValue(0.75d), 0d);
+
+        engine.setRange(-1e6d, 1e6d);
+        assertEquals(-1e6d, engine.normalizedToValue(0d), 0d);
+        assertEquals(5e5d, engine.normalizedToValue(0.75d), 0d);
+        assertEquals(0.75d, engine.valueToNormalized(5e5d), 0d);
+    }
+
+    @Test
+    public void asymmetricRange_scalesEachSide() {
+        RangeEngine engine = new RangeEngine(10d, 500d);
+        assertEquals(-10d, engine.normalizedToValue(0d), 0d);
+        assertEquals(-5d, engine.normalizedToValue(0.25d), 0d);
+        assertEquals(250d, engine.normalizedToValue(0.75d), 0d);
+        assertEquals(0.25d, engine.valueToNormalized(-5d), 0d);
+    }
+
+    @Test
+    public void normalizedToValue_isInverseOfValueToNormalized() {
+        for (ResponseCurve curve : ResponseCurve.values()) {
+            for (int r = 0; r < RANGES; r++) {
+                RangeEngine engine = randomEngine(curve);
+                for (int i = 0; i < SAMPLES; i++) {
+                    double normalized = random.nextDouble();
+                    double value = engine.normalizedToValue(normalized);
+
+                    assertEquals(curve + " at " + normalized, normalized, engine.valueToNormalized(value), EPSILON);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void valueToNormalized_isInverseOfNormalizedToValue() {
+        for (ResponseCurve curve : ResponseCurve.values()) {
+            for (int r = 0; r < RANGES; r++) {
+                RangeEngine engine = randomEngine(curve);
+                double from = engine.getFromMagnitude();
+                double to = engine.getToMagnitude();
+                for (int i = 0; i < SAMPLES; i++) {
+                    double value = -from + (from + to) * random.nextDouble();
+                    double magnitude = value < 0 ? from : to;
+                    double roundTrip = engine.normalizedToValue(engine.valueToNormalized(value));
+
+                    assertEquals(curve + " at " + value, value, roundTrip, EPSILON * magnitude);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void normalizedToValue_isMonotonicAndSignedBySide() {
+        for (ResponseCurve curve : ResponseCurve.values()) {
+            for (int r = 0; r < RANGES; r++) {
+                RangeEngine engine = randomEngine(curve);
+                double previous = Double.NEGATIVE_INFINITY;
+                for (int i = 0; i <= SAMPLES; i++) {
+                    double normalized = (double) i / SAMPLES;
+                    double value = engine.normalizedToValue(normalized);
+
+                    assertTrue(curve + " at " + normalized, value >= previous);
+                    assertTrue(curve + " at " + normalized, normalized < RangeEngine.CENTER ? value < 0d : value >= 0d);
+                    previous = value;
+                }
+            }
+        }
+    }
+
+    @Test
+    public void valueToNormalized_clampsOutOfRangeValues() {
+        for (ResponseCurve curve : ResponseCurve.values()) {
+            RangeEngine engine = randomEngine(curve);
+            assertEquals(0d, engine.valueToNormalized(-2d * engine.getFromMagnitude()), 0d);
+            assertEquals(1d, engine.valueToNormalized(2d * engine.getToMagnitude()), 0d);
+            assertEquals(0d, engine.valueToNormalized(Double.NEGATIVE_INFINITY), 0d);
+            assertEquals(1d, engine.valueToNormalized(Double.POSITIVE_INFINITY), 0d);
+        }
+    }
+
+    @Test
+    public void emptySide_mapsToCenter() {
+        RangeEngine engine = new RangeEngine(0d, 100d);
+        assertEquals(RangeEngine.CENTER, engine.valueToNormalized(-5d), 0d);
+        assertEquals(0d, engine.normalizedToValue(0d), 0d);
+    }
+
+    @Test
+    public void responseCurves_bendTowardsTheirEnds() {
+        for (int i = 1; i < SAMPLES; i++) {
+            double t = (double) i / SAMPLES;
+            assertEquals(t, ResponseCurve.LINEAR.apply(t), 0d);
+            assertTrue(ResponseCurve.EXPONENTIAL.apply(t) < t);
+            assertTrue(ResponseCurve.LOGARITHMIC.apply(t) > t);
+            // both are sampled tables, so composing them is only close to the identity.
+            assertEquals(t, ResponseCurve.LOGARITHMIC.apply(ResponseCurve.EXPONENTIAL.apply(t)), 1e-3);
+        }
+        // the curves cover the configured ratio, the middle of a side is about a tenth of its range.
+        assertEquals(1d / 11d, ResponseCurve.EXPONENTIAL.apply(0.5d), 1e-5);
+    }
+
+    @Test
+    public void responseCurves_mapAttributeValuesExplicitly() {
+        assertEquals(ResponseCurve.LINEAR, ResponseCurve.fromAttributeValue(Const.RESPONSE_CURVE_LINEAR));
+        assertEquals(ResponseCurve.LOGARITHMIC, ResponseCurve.fromAttributeValue(Const.RESPONSE_CURVE_LOGARITHMIC));
+        assertEquals(ResponseCurve.EXPONENTIAL, ResponseCurve.fromAttributeValue(Const.RESPONSE_CURVE_EXPONENTIAL));
+        // unknown values, e.g. from a newer attrs.xml, fall back instead of throwing.
+        assertEquals(ResponseCurve.LINEAR, ResponseCurve.fromAttributeValue(42));
+        assertEquals(ResponseCurve.LINEAR, ResponseCurve.fromAttributeValue(-1));
+    }
+
+    @Test
+    public void responseCurves_invertExactly() {
+        for (ResponseCurve curve : ResponseCurve.values()) {
+            assertEquals(0d, curve.apply(0d), 0d);
+            assertEquals(1d, curve.apply(1d), 0d);
+            assertEquals(1d, curve.invert(1d), 0d);
+            for (int i = 0; i < SAMPLES; i++) {
+                double t = random.nextDouble();
+                assertEquals(curve + " at " + t, t, curve.invert(curve.apply(t)), EPSILON);
+            }
+        }
+    }
+}
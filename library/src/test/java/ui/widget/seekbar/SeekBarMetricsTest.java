@@ -0,0 +1,130 @@
+package ui.widget.seekbar;
+
+import android.view.MotionEvent;
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Drives a drag and a frame through a laid out {@link CenterThumbSeekBar} and checks what its
+ * {@link SeekBarMetrics} recorded. Event times are taken from {@link System#nanoTime()}, the clock the
+ * latencies are measured against.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class SeekBarMetricsTest {
+
+    private static final float Y = 20f;
+    private static final long MAX_LATENCY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private CenterThumbSeekBar seekBar;
+    private SeekBarMetrics metrics;
+    private final List<SeekBarMetrics> reports = new ArrayList<>();
+    private final List<Long> reportedDrawCounts = new ArrayList<>();
+    private int listenerCalls;
+
+    @Before
+    public void setUp() {
+        seekBar = new CenterThumbSeekBar(RuntimeEnvironment.application);
+        seekBar.measure(View.MeasureSpec.makeMeasureSpec(400, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(40, View.MeasureSpec.EXACTLY));
+        seekBar.layout(0, 0, 400, 40);
+        seekBar.setOnValueChangeListener(new CenterThumbSeekBar.OnValueChangeListener() {
+            @Override
+            public void onValueChange(ThumbDirection direction, double value) {
+                listenerCalls++;
+            }
+        });
+        metrics = new SeekBarMetrics(new SeekBarMetrics.MetricsSink() {
+            @Override
+            public void onReport(SeekBarMetrics metrics) {
+                reports.add(metrics);
+                reportedDrawCounts.add(metrics.getDrawCount());
+            }
+        });
+        seekBar.setMetrics(metrics);
+    }
+
+    private void send(int action, float x) {
+        long now = TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+        MotionEvent event = MotionEvent.obtain(now, now, action, x, Y, 0);
+        seekBar.onTouchEvent(event);
+        event.recycle();
+    }
+
+    /**
+     * Drags the thumb from the center to the right, every move has to invalidate the view.
+     */
+    private void drag() {
+        send(MotionEvent.ACTION_DOWN, seekBar.getThumbX());
+        long invalidations = metrics.getInvalidateCount();
+        send(MotionEvent.ACTION_MOVE, 260f);
+        assertTrue(metrics.getInvalidateCount() > invalidations);
+        invalidations = metrics.getInvalidateCount();
+        send(MotionEvent.ACTION_MOVE, 300f);
+        assertTrue(metrics.getInvalidateCount() > invalidations);
+        send(MotionEvent.ACTION_UP, 300f);
+    }
+
+    private static void assertLatencies(LatencyHistogram histogram, long count) {
+        assertEquals(count, histogram.getCount());
+        assertTrue(histogram.getMaxNanos() >= 0L);
+        assertTrue(histogram.getMaxNanos() < MAX_LATENCY_NANOS);
+    }
+
+    @Test
+    public void dragAndFrame_recordEveryCounterAndLatency() {
+        drag();
+
+        assertEquals(4L, metrics.getTouchEventCount());
+        // both moves and the release notify the listeners, the down does not.
+        assertEquals(3L, metrics.getDispatchCount());
+        assertEquals(listenerCalls, (int) metrics.getDispatchCount());
+        assertTrue(metrics.getInvalidateCount() >= 2L);
+        assertEquals(0L, metrics.getDrawCount());
+        assertLatencies(metrics.getTouchToDispatchLatency(), 3L);
+        assertLatencies(metrics.getTouchToDrawLatency(), 0L);
+
+        seekBar.onDraw(new CountingCanvas());
+        assertEquals(1L, metrics.getDrawCount());
+        assertLatencies(metrics.getTouchToDrawLatency(), 1L);
+
+        // a frame without new touch input is counted but has no touch latency.
+        seekBar.onDraw(new CountingCanvas());
+        assertEquals(2L, metrics.getDrawCount());
+        assertLatencies(metrics.getTouchToDrawLatency(), 1L);
+    }
+
+    @Test
+    public void report_deliversToSinkAndResets() {
+        drag();
+        seekBar.onDraw(new CountingCanvas());
+
+        metrics.report(false);
+        assertEquals(1, reports.size());
+        assertSame(metrics, reports.get(0));
+        assertEquals(1L, (long) reportedDrawCounts.get(0));
+        assertEquals(1L, metrics.getDrawCount());
+
+        metrics.report(true);
+        assertEquals(2, reports.size());
+        assertEquals(1L, (long) reportedDrawCounts.get(1));
+        assertEquals(0L, metrics.getDrawCount());
+        assertEquals(0L, metrics.getInvalidateCount());
+        assertEquals(0L, metrics.getTouchEventCount());
+        assertEquals(0L, metrics.getDispatchCount());
+        assertEquals(0L, metrics.getTouchToDispatchLatency().getCount());
+        assertEquals(0L, metrics.getTouchToDrawLatency().getCount());
+    }
+}
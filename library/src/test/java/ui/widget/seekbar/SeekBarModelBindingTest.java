@@ -0,0 +1,101 @@
+package ui.widget.seekbar;
+
+import android.app.Activity;
+import android.widget.LinearLayout;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Verifies that a preset applied to many bound views costs one invalidation per affected view.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class SeekBarModelBindingTest {
+
+    private static final int VIEW_COUNT = 20;
+
+    private final SeekBarModel model = new SeekBarModel(VIEW_COUNT);
+    private final CenterThumbSeekBar[] seekBars = new CenterThumbSeekBar[VIEW_COUNT];
+    private final SeekBarMetrics[] metrics = new SeekBarMetrics[VIEW_COUNT];
+
+    @Before
+    public void setUp() {
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        LinearLayout layout = new LinearLayout(activity);
+        for (int i = 0; i < VIEW_COUNT; i++) {
+            seekBars[i] = new CenterThumbSeekBar(activity);
+            seekBars[i].setModel(model, i);
+            layout.addView(seekBars[i]);
+        }
+        activity.setContentView(layout);
+        for (int i = 0; i < VIEW_COUNT; i++) {
+            metrics[i] = new SeekBarMetrics(null);
+            seekBars[i].setMetrics(metrics[i]);
+        }
+    }
+
+    @Test
+    public void commit_invalidatesEachAffectedViewOnce() {
+        model.beginBatch();
+        for (int step = 1; step <= 5; step++) {
+            for (int i = 0; i < VIEW_COUNT; i++) {
+                model.setValue(i, (i % 2 == 0 ? -1 : 1) * step * 10d);
+            }
+        }
+        model.commit();
+
+        for (int i = 0; i < VIEW_COUNT; i++) {
+            assertEquals(1L, metrics[i].getInvalidateCount());
+            assertEquals((i % 2 == 0 ? -1 : 1) * 50d, seekBars[i].getValue(), 1e-9);
+        }
+    }
+
+    @Test
+    public void commit_leavesUnaffectedViewsAlone() {
+        model.beginBatch();
+        model.setValue(3, 25d);
+        model.setValue(7, -25d);
+        model.commit();
+
+        for (int i = 0; i < VIEW_COUNT; i++) {
+            assertEquals(i == 3 || i == 7 ? 1L : 0L, metrics[i].getInvalidateCount());
+        }
+    }
+
+    @Test
+    public void detachedView_catchesUpWhenAttachedAgain() {
+        LinearLayout layout = (LinearLayout) seekBars[0].getParent();
+        layout.removeView(seekBars[0]);
+
+        model.setValue(0, 60d);
+        assertEquals(0d, seekBars[0].getValue(), 1e-9);
+
+        layout.addView(seekBars[0]);
+        assertEquals(60d, seekBars[0].getValue(), 1e-9);
+    }
+
+    @Test
+    public void setValue_writesValueToModel() {
+        seekBars[2].setValue(33d);
+        ShadowLooper.idleMainLooper(20, TimeUnit.MILLISECONDS);
+
+        assertEquals(33d, model.getValue(2), 1e-9);
+        assertEquals(33d, seekBars[2].getValue(), 1e-9);
+        // the write does not come back to the view as a second update.
+        assertEquals(1L, metrics[2].getInvalidateCount());
+        for (int i = 0; i < VIEW_COUNT; i++) {
+            if (i != 2) {
+                assertEquals(0d, model.getValue(i), 0d);
+                assertEquals(0L, metrics[i].getInvalidateCount());
+            }
+        }
+    }
+}
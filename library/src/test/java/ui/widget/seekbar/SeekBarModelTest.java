@@ -0,0 +1,122 @@
+package ui.widget.seekbar;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class SeekBarModelTest {
+
+    private static final int SIZE = 24;
+
+    private SeekBarModel model;
+    private final List<int[]> changeSets = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        model = new SeekBarModel(SIZE);
+        model.addOnModelChangeListener(new SeekBarModel.OnModelChangeListener() {
+            @Override
+            public void onModelChange(SeekBarModel model, int[] slots, int count) {
+                changeSets.add(Arrays.copyOf(slots, count));
+            }
+        });
+    }
+
+    @Test
+    public void setValue_outsideBatchCommitsRightAway() {
+        model.setValue(3, -12.5d);
+
+        assertEquals(-12.5d, model.getValue(3), 0d);
+        assertEquals(1, changeSets.size());
+        assertArrayEquals(new int[]{3}, changeSets.get(0));
+    }
+
+    @Test
+    public void setValue_unchangedValueEmitsNothing() {
+        model.setValue(3, 0d);
+
+        assertEquals(0, changeSets.size());
+    }
+
+    @Test
+    public void commit_emitsOneChangeSetWithEachSlotOnce() {
+        final int[] observerCalls = new int[SIZE];
+        for (int slot = 0; slot < SIZE; slot++) {
+            model.addObserver(new SeekBarModel.Observer() {
+                @Override
+                public void onModelValueChanged(SeekBarModel model, int slot) {
+                    observerCalls[slot]++;
+                    // observers only ever see the final state of the batch.
+                    assertEquals(slot * 2d, model.getValue(slot), 0d);
+                }
+            }, slot);
+        }
+
+        model.beginBatch();
+        for (int slot = 0; slot < SIZE; slot++) {
+            model.setValue(slot, slot);
+        }
+        model.beginBatch();
+        for (int slot = 0; slot < SIZE; slot++) {
+            model.setValue(slot, slot * 2d);
+        }
+        model.commit();
+        assertEquals(0, changeSets.size());
+        model.commit();
+
+        assertEquals(1, changeSets.size());
+        // slot 0 is set to its current value, it never changes
+        assertEquals(SIZE - 1, changeSets.get(0).length);
+        for (int slot = 1; slot < SIZE; slot++) {
+            assertEquals(1, observerCalls[slot]);
+        }
+    }
+
+    @Test
+    public void commit_changesMadeByListenersFollowAsNextChangeSet() {
+        model.addOnModelChangeListener(new SeekBarModel.OnModelChangeListener() {
+            @Override
+            public void onModelChange(SeekBarModel model, int[] slots, int count) {
+                // link slot 1 to slot 0
+                if (slots[0] == 0) {
+                    model.setValue(1, model.getValue(0));
+                }
+            }
+        });
+
+        model.setValue(0, 40d);
+
+        assertEquals(40d, model.getValue(1), 0d);
+        assertEquals(2, changeSets.size());
+        assertArrayEquals(new int[]{0}, changeSets.get(0));
+        assertArrayEquals(new int[]{1}, changeSets.get(1));
+    }
+
+    @Test
+    public void removeObserver_stopsNotifications() {
+        final int[] calls = new int[1];
+        SeekBarModel.Observer observer = new SeekBarModel.Observer() {
+            @Override
+            public void onModelValueChanged(SeekBarModel model, int slot) {
+                calls[0]++;
+            }
+        };
+        model.addObserver(observer, 2);
+        model.setValue(2, 1d);
+        model.removeObserver(observer);
+        model.setValue(2, 2d);
+
+        assertEquals(1, calls[0]);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void commit_withoutBeginBatchFails() {
+        model.commit();
+    }
+}
@@ -0,0 +1,27 @@
+package ui.widget.seekbar;
+
+import android.graphics.drawable.Drawable;
+import android.graphics.drawable.ShapeDrawable;
+import android.graphics.drawable.shapes.OvalShape;
+
+/**
+ * Drawable fixtures shared by the thumb image tests.
+ */
+final class TestDrawables {
+
+    private TestDrawables() {
+    }
+
+    /**
+     * Creates a shape drawable, which {@link ThumbImage} rasterizes and shares through {@link ThumbBitmapCache}.
+     *
+     * @param size The intrinsic width and height in px.
+     * @return A new oval drawable.
+     */
+    static Drawable oval(int size) {
+        ShapeDrawable drawable = new ShapeDrawable(new OvalShape());
+        drawable.setIntrinsicWidth(size);
+        drawable.setIntrinsicHeight(size);
+        return drawable;
+    }
+}
@@ -0,0 +1,95 @@
+package ui.widget.seekbar;
+
+import android.app.Application;
+import android.content.ComponentCallbacks2;
+import android.graphics.Bitmap;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Verifies that thumbs of the same resource, size and density share one bitmap and that memory trim
+ * callbacks evict the cached bitmaps.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ThumbBitmapCacheTest {
+
+    private static final int THUMB_RESOURCE = android.R.drawable.btn_default;
+    private static final int SIZE = 36;
+
+    private final Application context = RuntimeEnvironment.application;
+
+    @Before
+    public void setUp() {
+        ThumbBitmapCache.clear();
+    }
+
+    @Test
+    public void get_sharesBitmapForSameResourceSizeAndDensity() {
+        Bitmap first = ThumbBitmapCache.get(context, THUMB_RESOURCE, TestDrawables.oval(SIZE));
+        Bitmap second = ThumbBitmapCache.get(context, THUMB_RESOURCE, TestDrawables.oval(SIZE));
+
+        assertSame(first, second);
+        assertEquals(4 * SIZE * SIZE, first.getByteCount());
+    }
+
+    @Test
+    public void fromDrawable_twoViewsShareOneBitmap() {
+        ThumbImage first = ThumbImage.fromDrawable(context, THUMB_RESOURCE, TestDrawables.oval(SIZE));
+        ThumbImage second = ThumbImage.fromDrawable(context, THUMB_RESOURCE, TestDrawables.oval(SIZE));
+        CenterThumbSeekBar firstView = new CenterThumbSeekBar(context);
+        CenterThumbSeekBar secondView = new CenterThumbSeekBar(context);
+        firstView.bind(new SeekBarConfig.Builder(context).setThumbImages(first, first).build(), 0d);
+        secondView.bind(new SeekBarConfig.Builder(context).setThumbImages(second, second).build(), 0d);
+
+        // both views draw the cached bitmap, no second rasterization happened.
+        Bitmap firstBitmap = firstView.getRenderer().getThumbImage().getBitmap();
+        assertSame(firstBitmap, secondView.getRenderer().getThumbImage().getBitmap());
+        assertSame(ThumbBitmapCache.get(context, THUMB_RESOURCE, TestDrawables.oval(SIZE)), firstBitmap);
+    }
+
+    @Test
+    public void get_keysBySizeAndMaskFormat() {
+        Bitmap normal = ThumbBitmapCache.get(context, THUMB_RESOURCE, TestDrawables.oval(SIZE));
+
+        assertNotSame(normal, ThumbBitmapCache.get(context, THUMB_RESOURCE, TestDrawables.oval(2 * SIZE)));
+        assertNotSame(normal, ThumbBitmapCache.getMask(context, THUMB_RESOURCE, TestDrawables.oval(SIZE)));
+    }
+
+    @Test
+    public void get_keysByDensity() {
+        Bitmap bitmap = ThumbBitmapCache.get(context, THUMB_RESOURCE, TestDrawables.oval(SIZE));
+        int densityDpi = context.getResources().getDisplayMetrics().densityDpi;
+        context.getResources().getDisplayMetrics().densityDpi = 2 * densityDpi;
+        try {
+            assertNotSame(bitmap, ThumbBitmapCache.get(context, THUMB_RESOURCE, TestDrawables.oval(SIZE)));
+        } finally {
+            context.getResources().getDisplayMetrics().densityDpi = densityDpi;
+        }
+    }
+
+    @Test
+    public void trimCallback_evictsEntries() {
+        Bitmap cached = ThumbBitmapCache.get(context, THUMB_RESOURCE, TestDrawables.oval(SIZE));
+
+        context.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_MODERATE);
+
+        assertNotSame(cached, ThumbBitmapCache.get(context, THUMB_RESOURCE, TestDrawables.oval(SIZE)));
+    }
+
+    @Test
+    public void uiHiddenTrim_keepsEntries() {
+        Bitmap cached = ThumbBitmapCache.get(context, THUMB_RESOURCE, TestDrawables.oval(SIZE));
+
+        context.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN);
+
+        assertSame(cached, ThumbBitmapCache.get(context, THUMB_RESOURCE, TestDrawables.oval(SIZE)));
+    }
+}
@@ -0,0 +1,107 @@
+package ui.widget.seekbar;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.GradientDrawable;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compares the pixel memory held by the thumb rendering strategies against the full color
+ * rasterization of the normal and pressed drawables, and checks which drawables keep their colors.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ThumbImageTest {
+
+    private static final int NORMAL_SIZE = 36;
+    private static final int PRESSED_SIZE = 56;
+
+    private final Context context = RuntimeEnvironment.application;
+
+    @Test
+    public void fromDrawable_tintedDrawableUsesQuarterSizedMask() {
+        ThumbImage normal = ThumbImage.fromDrawable(context, 0, TestDrawables.oval(NORMAL_SIZE), true);
+        ThumbImage pressed = ThumbImage.fromDrawable(context, 0, TestDrawables.oval(PRESSED_SIZE), true);
+
+        int maskBytes = normal.getByteCount() + pressed.getByteCount();
+        int argbBytes = Utils.getBitmapFromDrawable(TestDrawables.oval(NORMAL_SIZE)).getByteCount()
+                + Utils.getBitmapFromDrawable(TestDrawables.oval(PRESSED_SIZE)).getByteCount();
+
+        assertTrue(normal.isTinted());
+        assertEquals(NORMAL_SIZE, normal.getWidth());
+        assertEquals(NORMAL_SIZE * NORMAL_SIZE + PRESSED_SIZE * PRESSED_SIZE, maskBytes);
+        assertEquals(4 * maskBytes, argbBytes);
+    }
+
+    @Test
+    public void fromDrawable_shapeDrawableKeepsItsColorsByDefault() {
+        ThumbImage image = ThumbImage.fromDrawable(context, 0, TestDrawables.oval(NORMAL_SIZE));
+
+        assertFalse(image.isTinted());
+        assertEquals(4 * NORMAL_SIZE * NORMAL_SIZE, image.getByteCount());
+        assertSame(image, image.newUserInstance());
+    }
+
+    @Test
+    public void fromDrawable_otherDrawablesGetOneInstancePerUser() {
+        GradientDrawable drawable = new GradientDrawable();
+        drawable.setSize(NORMAL_SIZE, NORMAL_SIZE);
+
+        ThumbImage image = ThumbImage.fromDrawable(context, 0, drawable);
+        ThumbImage first = image.newUserInstance();
+        ThumbImage second = image.newUserInstance();
+
+        assertNotSame(image, first);
+        assertNotSame(first, second);
+        assertEquals(NORMAL_SIZE, first.getWidth());
+    }
+
+    @Test
+    public void fromDrawable_otherDrawablesAreDrawnWithoutBitmap() {
+        GradientDrawable drawable = new GradientDrawable();
+        drawable.setSize(NORMAL_SIZE, NORMAL_SIZE);
+
+        ThumbImage image = ThumbImage.fromDrawable(context, 0, drawable);
+
+        assertFalse(image.isTinted());
+        assertEquals(0, image.getByteCount());
+        assertEquals(NORMAL_SIZE, image.getWidth());
+        assertEquals(NORMAL_SIZE, image.getHeight());
+    }
+
+    @Test
+    public void fromDrawable_bitmapDrawableIsNotCopied() {
+        Bitmap bitmap = Bitmap.createBitmap(NORMAL_SIZE, NORMAL_SIZE, Bitmap.Config.ARGB_8888);
+
+        ThumbImage image = ThumbImage.fromDrawable(context, 0, new BitmapDrawable(context.getResources(), bitmap));
+
+        assertFalse(image.isTinted());
+        assertEquals(bitmap.getByteCount(), image.getByteCount());
+    }
+
+    @Test
+    public void maskThumb_isDrawnWithOneBitmapCall() {
+        SeekBarConfig config = new SeekBarConfig.Builder(context)
+                .setThumbImages(ThumbImage.fromDrawable(context, 0, TestDrawables.oval(NORMAL_SIZE), true),
+                        ThumbImage.fromDrawable(context, 0, TestDrawables.oval(PRESSED_SIZE), true))
+                .build();
+        CenterThumbSeekBar seekBar = new CenterThumbSeekBar(context);
+        seekBar.bind(config, 0d);
+        CountingCanvas canvas = new CountingCanvas();
+
+        seekBar.onDraw(canvas);
+
+        // track, progress and the tinted mask
+        assertEquals(3, canvas.drawOps);
+    }
+}
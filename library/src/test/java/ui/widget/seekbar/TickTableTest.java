@@ -0,0 +1,47 @@
+package ui.widget.seekbar;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class TickTableTest {
+
+    private static final double DELTA = 1e-9;
+
+    private ValueMapper mapper;
+
+    @Before
+    public void setUp() {
+        mapper = new ValueMapper(-100d, 100d);
+        mapper.setValueRange(10f, 25f);
+    }
+
+    @Test
+    public void ticks_countStepsFromCenterAndIncludeEnds() {
+        TickTable table = new TickTable(mapper, 10d);
+
+        // -10, 0, 10, 20, 25
+        assertEquals(5, table.size());
+        assertEquals(-10d, mapper.normalizedToUserValue(table.get(0)), DELTA);
+        assertEquals(0d, mapper.normalizedToUserValue(table.get(1)), DELTA);
+        assertEquals(20d, mapper.normalizedToUserValue(table.get(3)), DELTA);
+        assertEquals(25d, mapper.normalizedToUserValue(table.get(4)), DELTA);
+    }
+
+    @Test
+    public void snap_returnsNearestStep() {
+        TickTable table = new TickTable(mapper, 10d);
+
+        assertEquals(0, table.snap(0d));
+        assertEquals(1, table.snap(mapper.userValueToNormalized(-4d)));
+        assertEquals(2, table.snap(mapper.userValueToNormalized(14d)));
+        assertEquals(3, table.snap(mapper.userValueToNormalized(22d)));
+        assertEquals(4, table.snap(1d));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void stepSize_mustBePositive() {
+        new TickTable(mapper, 0d);
+    }
+}
@@ -0,0 +1,91 @@
+package ui.widget.seekbar;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertEquals;
+
+public class ValueFormatterTest {
+
+    @Test
+    public void format_roundsHalfAwayFromZero() {
+        ValueFormatter formatter = new ValueFormatter(2, null, null);
+
+        assertEquals("1.25", format(formatter, 1.2451));
+        assertEquals("0.13", format(formatter, 0.125));
+        assertEquals("-0.13", format(formatter, -0.125));
+        assertEquals("100.00", format(formatter, 99.9999));
+    }
+
+    @Test
+    public void format_padsFractionAndAddsAffixes() {
+        ValueFormatter formatter = new ValueFormatter(3, "x ", " dB");
+
+        assertEquals("x 0.005 dB", format(formatter, 0.005));
+        assertEquals("x -12.040 dB", format(formatter, -12.04));
+    }
+
+    @Test
+    public void format_withoutDecimalsHasNoPoint() {
+        ValueFormatter formatter = new ValueFormatter(0, null, "%");
+
+        assertEquals("0%", format(formatter, 0.4));
+        assertEquals("500%", format(formatter, 499.5));
+        assertEquals("0%", format(formatter, -0.4));
+    }
+
+    @Test
+    public void format_matchesStringFormat() {
+        ValueFormatter formatter = new ValueFormatter(1, null, null);
+        for (int i = -10000; i <= 10000; i++) {
+            // exact halves are avoided, String.format rounds the binary value half even. Unlike
+            // String.format, values rounding to zero never get a sign.
+            double value = i / 100d + 0.001;
+            String expected = String.format(java.util.Locale.US, "%.1f", value).replace("-0.0", "0.0");
+            assertEquals(expected, format(formatter, value));
+        }
+    }
+
+    @Test
+    public void format_allocatesNothing() {
+        ValueFormatter formatter = new ValueFormatter(2, "$", null);
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < 10000; i++) {
+            formatter.format(i * 0.37);
+        }
+
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 10000; i++) {
+            formatter.format(i * 0.37);
+        }
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+
+        assertEquals(0L, allocated);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_rejectsTooManyDecimals() {
+        new ValueFormatter(ValueFormatter.MAX_DECIMALS + 1, null, null);
+    }
+
+    @Test
+    public void widthCache_returnsStoredWidthUntilReplacedOrCleared() {
+        TextWidthCache cache = new TextWidthCache(8);
+
+        assertEquals(Float.NaN, cache.get(0L), 0f);
+        cache.put(0L, 12f);
+        cache.put(-125L, 30f);
+        assertEquals(12f, cache.get(0L), 0f);
+        assertEquals(30f, cache.get(-125L), 0f);
+
+        cache.clear();
+        assertEquals(Float.NaN, cache.get(-125L), 0f);
+    }
+
+    private static String format(ValueFormatter formatter, double value) {
+        int length = formatter.format(value);
+        return new String(formatter.getChars(), 0, length);
+    }
+}
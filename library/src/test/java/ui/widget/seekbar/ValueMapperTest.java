@@ -0,0 +1,66 @@
+package ui.widget.seekbar;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ValueMapperTest {
+
+    private static final double DELTA = 1e-9;
+
+    private ValueMapper mapper;
+
+    @Before
+    public void setUp() {
+        mapper = new ValueMapper(-100d, 100d);
+        mapper.setValueRange(10f, 500f);
+        mapper.setBounds(420f, 10f);
+    }
+
+    @Test
+    public void screenToNormalized_clampsToTrack() {
+        assertEquals(0d, mapper.screenToNormalized(0f), DELTA);
+        assertEquals(0.5d, mapper.screenToNormalized(210f), DELTA);
+        assertEquals(1d, mapper.screenToNormalized(1000f), DELTA);
+    }
+
+    @Test
+    public void screenToNormalized_returnsZeroWithoutSpace() {
+        mapper.setBounds(20f, 10f);
+        assertEquals(0d, mapper.screenToNormalized(15f), DELTA);
+    }
+
+    @Test
+    public void normalizedToScreen_isInverseOfScreenToNormalized() {
+        for (float x = 10f; x <= 410f; x += 12.5f) {
+            assertEquals(x, mapper.normalizedToScreen(mapper.screenToNormalized(x)), 1e-3f);
+        }
+    }
+
+    @Test
+    public void normalizedToUserValue_scalesBothSides() {
+        assertEquals(-10d, mapper.normalizedToUserValue(0d), DELTA);
+        assertEquals(0d, mapper.normalizedToUserValue(0.5d), DELTA);
+        assertEquals(500d, mapper.normalizedToUserValue(1d), DELTA);
+        assertEquals(250d, mapper.normalizedToUserValue(0.75d), DELTA);
+        assertEquals(-5d, mapper.normalizedToUserValue(0.25d), DELTA);
+    }
+
+    @Test
+    public void userValueToNormalized_isInverseOfNormalizedToUserValue() {
+        assertEquals(0d, mapper.userValueToNormalized(-10d), DELTA);
+        assertEquals(0.5d, mapper.userValueToNormalized(0d), DELTA);
+        assertEquals(1d, mapper.userValueToNormalized(500d), DELTA);
+        assertEquals(-4d, mapper.normalizedToUserValue(mapper.userValueToNormalized(-4d)), DELTA);
+        assertEquals(1d, mapper.userValueToNormalized(900d), DELTA);
+    }
+
+    @Test
+    public void isInThumbRange_usesThumbRadius() {
+        assertTrue(mapper.isInThumbRange(215f, 0.5d, 6f));
+        assertFalse(mapper.isInThumbRange(217f, 0.5d, 6f));
+    }
+}
@@ -0,0 +1,113 @@
+package ui.widget.seekbar;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Concurrency stress test: one producer publishes a strictly increasing sequence while the consumer
+ * verifies ordering, uniqueness and that the final sample always arrives.
+ */
+public class ValueStreamTest {
+
+    private static final int SAMPLES = 2_000_000;
+    private static final int CAPACITY = 64;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test(timeout = 60_000)
+    public void block_deliversEverySampleInOrder() throws Exception {
+        CheckingConsumer consumer = stress(OverflowPolicy.BLOCK);
+
+        assertEquals(0, consumer.violations);
+        assertEquals(SAMPLES, consumer.received);
+        assertEquals(SAMPLES - 1, (long) consumer.lastValue);
+    }
+
+    @Test(timeout = 60_000)
+    public void dropOldest_deliversIncreasingSubsequenceAndFinalSample() throws Exception {
+        CheckingConsumer consumer = stress(OverflowPolicy.DROP_OLDEST);
+
+        assertEquals(0, consumer.violations);
+        assertEquals(SAMPLES - 1, (long) consumer.lastValue);
+        assertTrue(consumer.received <= SAMPLES);
+    }
+
+    @Test(timeout = 60_000)
+    public void keepLatest_deliversIncreasingSubsequenceAndFinalSample() throws Exception {
+        CheckingConsumer consumer = stress(OverflowPolicy.KEEP_LATEST);
+
+        assertEquals(0, consumer.violations);
+        assertEquals(SAMPLES - 1, (long) consumer.lastValue);
+    }
+
+    @Test
+    public void ringBuffer_overwriteDropsOldest() {
+        ValueRingBuffer buffer = new ValueRingBuffer(3, true);
+        assertEquals(4, buffer.capacity());
+        for (int i = 0; i < 6; i++) {
+            buffer.offer(i, ThumbDirection.RIGHT, i);
+        }
+        CheckingConsumer consumer = new CheckingConsumer();
+        while (buffer.poll(consumer)) {
+            // drain
+        }
+
+        assertEquals(2, buffer.getDroppedCount());
+        assertEquals(4, consumer.received);
+        assertEquals(5d, consumer.lastValue, 0d);
+    }
+
+    private CheckingConsumer stress(OverflowPolicy policy) throws Exception {
+        final CheckingConsumer consumer = new CheckingConsumer();
+        final ValueStream stream = new ValueStream(CAPACITY, policy, executor, consumer);
+
+        Thread producer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < SAMPLES; i++) {
+                    stream.publish(i, (i & 1) == 0 ? ThumbDirection.LEFT : ThumbDirection.RIGHT, i);
+                }
+            }
+        });
+        producer.start();
+        producer.join();
+
+        // wait for the consumer to see the final sample.
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (consumer.lastValue != SAMPLES - 1 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+        return consumer;
+    }
+
+    private static class CheckingConsumer implements ValueStream.Consumer {
+        volatile double lastValue = -1;
+        int received;
+        int violations;
+
+        @Override
+        public void onSample(double value, ThumbDirection direction, long timestampNanos) {
+            long sequence = (long) value;
+            ThumbDirection expected = (sequence & 1) == 0 ? ThumbDirection.LEFT : ThumbDirection.RIGHT;
+            if (value <= lastValue || timestampNanos != sequence || direction != expected) {
+                violations++;
+            }
+            received++;
+            lastValue = value;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package ui.widget.seekbar;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class VelocityEstimatorTest {
+
+    @Test
+    public void velocity_ofConstantMotion() {
+        VelocityEstimator estimator = new VelocityEstimator();
+        for (int i = 0; i < 20; i++) {
+            estimator.addSample(i * 8L, 100f + i * 4f);
+        }
+        assertEquals(0.5f, estimator.getVelocity(), 1e-4f);
+    }
+
+    @Test
+    public void velocity_ignoresStaleSamples() {
+        VelocityEstimator estimator = new VelocityEstimator();
+        estimator.addSample(0L, 0f);
+        estimator.addSample(500L, 300f);
+        estimator.addSample(510L, 300f);
+        assertEquals(0f, estimator.getVelocity(), 1e-4f);
+    }
+
+    @Test
+    public void velocity_needsTwoSamples() {
+        VelocityEstimator estimator = new VelocityEstimator();
+        assertEquals(0f, estimator.getVelocity(), 0f);
+        estimator.addSample(0L, 10f);
+        assertEquals(0f, estimator.getVelocity(), 0f);
+        estimator.clear();
+        assertEquals(0f, estimator.getVelocity(), 0f);
+    }
+}